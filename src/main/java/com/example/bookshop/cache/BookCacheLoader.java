@@ -0,0 +1,41 @@
+package com.example.bookshop.cache;
+
+import com.example.bookshop.model.Book;
+import com.example.bookshop.repository.BookRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import org.springframework.stereotype.Component;
+
+/** Class to load books into the books cache by id. It is used to reload hot books
+ * in background while cache keeps serving the old value.
+ */
+@Component
+public class BookCacheLoader implements CacheLoader<Object, Object> {
+
+    static final String CACHE_NAME = "books";
+
+    private final BookRepository bookRepository;
+    private final CacheDependencyTracker tracker;
+
+    /** Constructor of the class. */
+    public BookCacheLoader(BookRepository bookRepository, CacheDependencyTracker tracker) {
+        this.bookRepository = bookRepository;
+        this.tracker = tracker;
+    }
+
+    /** Function to load book with its authors and reviews.
+     * Loaded values don't pass through Spring cache, so loader registers their dependencies itself.
+     *
+     * @param key id of the book
+     * @return book or null if it doesn't exist, so the entry is removed
+     */
+    @Override
+    public Object load(Object key) {
+        Book book = key instanceof Long id ? bookRepository.findLoadedById(id).orElse(null) : null;
+        if (book == null) {
+            tracker.unregister(CACHE_NAME, key);
+        } else {
+            tracker.register(CACHE_NAME, key, book);
+        }
+        return book;
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.bookshop.cache;
+
+import com.example.bookshop.model.Author;
+import com.example.bookshop.model.Book;
+import com.example.bookshop.model.Review;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+/** Class to remember which cached entries contain which books and authors,
+ * so a write can evict only entries that really contain changed entity.
+ */
+@Component
+public class CacheDependencyTracker {
+
+    /** Type of the entity used as key in caches which are keyed by entity id. */
+    private static final Map<String, String> KEY_TYPES = Map.of(
+            "books", EntityKey.BOOK,
+            "authors", EntityKey.AUTHOR,
+            "reviews", EntityKey.BOOK,
+            SerializedBookCache.CACHE_NAME, EntityKey.BOOK,
+            MissingEntityCache.MISSING_BOOKS, EntityKey.BOOK,
+            MissingEntityCache.MISSING_AUTHORS, EntityKey.AUTHOR);
+
+    /** Amount of recent writes which loads can check, older writes make every running load stale. */
+    private static final int INVALIDATION_LOG_SIZE = 1024;
+
+    private final Map<EntityKey, Set<CacheEntryKey>> dependents = new ConcurrentHashMap<>();
+    private final Map<CacheEntryKey, Set<EntityKey>> dependencies = new ConcurrentHashMap<>();
+    private final Map<CacheEntryKey, ValueRange> ranges = new ConcurrentHashMap<>();
+    private final Deque<Invalidation> invalidations = new ArrayDeque<>();
+    private long invalidationSequence;
+
+    /** Function to remember entities contained in the cached value.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     * @param value cached value
+     */
+    public void register(String cacheName, Object key, Object value) {
+        registerEntities(cacheName, key, findEntities(value));
+        if (value instanceof QueryResult<?> result && result.range() != null) {
+            registerRange(cacheName, key, result.range());
+        }
+    }
+
+    /** Function to find books and authors contained in the value.
+     *
+     * @param value entity, collection of entities or query result
+     * @return keys of the entities
+     */
+    public Set<EntityKey> findEntities(Object value) {
+        Set<EntityKey> entities = new HashSet<>();
+        collectEntities(value, entities, true);
+        return entities;
+    }
+
+    /** Function to remember entities of the entry which value doesn't contain entities itself.
+     * Replaces entities found in the value when entry was stored.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     * @param entities entities which the value was built from
+     */
+    public void registerEntities(String cacheName, Object key, Collection<EntityKey> entities) {
+        CacheEntryKey entry = new CacheEntryKey(cacheName, key);
+        Set<EntityKey> entryEntities = new HashSet<>(entities);
+        String keyType = KEY_TYPES.get(cacheName);
+        if (keyType != null) {
+            entryEntities.add(new EntityKey(keyType, key));
+        }
+        replaceDependencies(entry, entryEntities);
+    }
+
+    /** Function to remember range of attribute values which the entry covers,
+     * entry is invalidated by every change of the attribute inside the range.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     * @param range covered values
+     */
+    public void registerRange(String cacheName, Object key, ValueRange range) {
+        ranges.put(new CacheEntryKey(cacheName, key), range);
+    }
+
+    private void replaceDependencies(CacheEntryKey entry, Set<EntityKey> entities) {
+        Set<EntityKey> previous = entities.isEmpty() ? dependencies.remove(entry) : dependencies.put(entry, entities);
+        if (previous != null) {
+            previous.stream()
+                    .filter(entity -> !entities.contains(entity))
+                    .forEach(entity -> removeDependent(entity, entry));
+        }
+
+        for (EntityKey entity : entities) {
+            dependents.compute(entity, (ignored, entries) -> {
+                Set<CacheEntryKey> result = entries != null ? entries : ConcurrentHashMap.newKeySet();
+                result.add(entry);
+                return result;
+            });
+        }
+    }
+
+    /** Function to forget evicted entry.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     */
+    public void unregister(String cacheName, Object key) {
+        CacheEntryKey entry = new CacheEntryKey(cacheName, key);
+        ranges.remove(entry);
+        Set<EntityKey> entities = dependencies.remove(entry);
+        if (entities != null) {
+            entities.forEach(entity -> removeDependent(entity, entry));
+        }
+    }
+
+    /** Function to forget all entries of the cleared cache.
+     *
+     * @param cacheName name of the cache
+     */
+    public void unregisterAll(String cacheName) {
+        ranges.keySet().removeIf(entry -> entry.cacheName().equals(cacheName));
+        dependencies.keySet().stream()
+                .filter(entry -> entry.cacheName().equals(cacheName))
+                .toList()
+                .forEach(entry -> unregister(entry.cacheName(), entry.key()));
+    }
+
+    /** Function to remember write before its dependents are evicted. Load which ran during the write
+     * might have read old data and registered its entry after the eviction, so the load checks this log.
+     *
+     * @param entities changed entities
+     * @param range range of changed values or null
+     */
+    public synchronized void recordInvalidation(Collection<EntityKey> entities, ValueRange range) {
+        invalidations.addLast(new Invalidation(++invalidationSequence, new HashSet<>(entities), range));
+        if (invalidations.size() > INVALIDATION_LOG_SIZE) {
+            invalidations.removeFirst();
+        }
+    }
+
+    /** Function to get number of the last recorded write, load takes it before reading data.
+     *
+     * @return sequence number of the last write
+     */
+    public synchronized long getInvalidationSequence() {
+        return invalidationSequence;
+    }
+
+    /** Function to check whether write recorded after the sequence number changed anything the entry depends on.
+     * Entry has to be registered before the check, so writes recorded later evict it themselves.
+     *
+     * @param sequence sequence number taken before the value was loaded
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     * @return true if the entry might be stale
+     */
+    public synchronized boolean isInvalidatedSince(long sequence, String cacheName, Object key) {
+        CacheEntryKey entry = new CacheEntryKey(cacheName, key);
+        Set<EntityKey> entities = dependencies.getOrDefault(entry, Set.of());
+        ValueRange range = ranges.get(entry);
+        if (entities.isEmpty() && range == null) {
+            return false;
+        }
+
+        Iterator<Invalidation> newest = invalidations.descendingIterator();
+        while (newest.hasNext()) {
+            Invalidation invalidation = newest.next();
+            if (invalidation.sequence() <= sequence) {
+                return false;
+            }
+            if (invalidation.overlaps(entities, range)) {
+                return true;
+            }
+        }
+        // writes older than the log are forgotten, they are counted as overlapping
+        return invalidationSequence - invalidations.size() > sequence;
+    }
+
+    /** Function to get cached entries which contain the entity.
+     *
+     * @param entity key of the entity
+     * @return entries of all caches
+     */
+    public Set<CacheEntryKey> getDependents(EntityKey entity) {
+        Set<CacheEntryKey> entries = dependents.get(entity);
+        return entries == null ? Set.of() : Set.copyOf(entries);
+    }
+
+    /** Function to get cached entries which cover any value of the changed range.
+     * Walks all registered ranges, their amount is limited by size of the caches.
+     *
+     * @param changed range of changed values
+     * @return entries of all caches
+     */
+    public List<CacheEntryKey> getDependents(ValueRange changed) {
+        return ranges.entrySet().stream()
+                .filter(entry -> entry.getValue().overlaps(changed))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void removeDependent(EntityKey entity, CacheEntryKey entry) {
+        dependents.computeIfPresent(entity, (ignored, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    /** Function to find books and authors in the value, nested collections are not loaded from database. */
+    private static void collectEntities(Object value, Set<EntityKey> entities, boolean deep) {
+        if (value instanceof Book book) {
+            entities.add(EntityKey.book(book.getId()));
+            if (deep && isLoaded(book.getAuthors())) {
+                book.getAuthors().forEach(author -> collectEntities(author, entities, false));
+            }
+        } else if (value instanceof Author author) {
+            entities.add(EntityKey.author(author.getId()));
+            if (deep && isLoaded(author.getBooks())) {
+                author.getBooks().forEach(book -> collectEntities(book, entities, false));
+            }
+        } else if (value instanceof QueryResult<?> result) {
+            entities.addAll(result.entities());
+        } else if (value instanceof Review review && review.getBook() != null) {
+            entities.add(EntityKey.book(review.getBook().getId()));
+        } else if (value instanceof Collection<?> values && deep) {
+            values.forEach(element -> collectEntities(element, entities, true));
+        }
+    }
+
+    private static boolean isLoaded(Collection<?> values) {
+        return values != null && Hibernate.isInitialized(values);
+    }
+
+    /** Class of recorded write. */
+    private record Invalidation(long sequence, Set<EntityKey> entities, ValueRange range) {
+
+        boolean overlaps(Set<EntityKey> entryEntities, ValueRange entryRange) {
+            if (range != null && entryRange != null && range.overlaps(entryRange)) {
+                return true;
+            }
+            for (EntityKey entity : entities) {
+                if (entryEntities.contains(entity)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.bookshop.cache;
+
+/** Class that identifies one entry of the cache.
+ *
+ * @param cacheName name of the cache
+ * @param key key of the entry in the cache
+ */
+public record CacheEntryKey(String cacheName, Object key) {
+}
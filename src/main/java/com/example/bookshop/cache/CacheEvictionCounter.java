@@ -0,0 +1,62 @@
+package com.example.bookshop.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+/** Class to count entries which caches evicted by themselves, separately for every cause.
+ * Caffeine statistics only hold the total amount of evictions.
+ */
+@Component
+public class CacheEvictionCounter {
+
+    private final ConcurrentMap<String, Map<RemovalCause, LongAdder>> counters = new ConcurrentHashMap<>();
+
+    /** Function to count evicted entry.
+     *
+     * @param cacheName name of the cache
+     * @param cause why entry was evicted
+     */
+    public void record(String cacheName, RemovalCause cause) {
+        counters.computeIfAbsent(cacheName, name -> createCounters()).get(cause).increment();
+    }
+
+    /** Function to get amount of entries evicted from the cache for the cause.
+     *
+     * @param cacheName name of the cache
+     * @param cause cause of eviction
+     * @return amount of evicted entries
+     */
+    public long getCount(String cacheName, RemovalCause cause) {
+        Map<RemovalCause, LongAdder> cacheCounters = counters.get(cacheName);
+        return cacheCounters == null ? 0 : cacheCounters.get(cause).sum();
+    }
+
+    /** Function to get amount of evicted entries by every cause of eviction.
+     *
+     * @param cacheName name of the cache
+     * @return amount of evicted entries by name of the cause
+     */
+    public Map<String, Long> getCounts(String cacheName) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (RemovalCause cause : RemovalCause.values()) {
+            if (cause.wasEvicted()) {
+                result.put(cause.name(), getCount(cacheName, cause));
+            }
+        }
+        return result;
+    }
+
+    private static Map<RemovalCause, LongAdder> createCounters() {
+        Map<RemovalCause, LongAdder> cacheCounters = new EnumMap<>(RemovalCause.class);
+        for (RemovalCause cause : RemovalCause.values()) {
+            cacheCounters.put(cause, new LongAdder());
+        }
+        return cacheCounters;
+    }
+}
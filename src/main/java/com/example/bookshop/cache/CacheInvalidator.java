@@ -0,0 +1,108 @@
+package com.example.bookshop.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Class to evict cached entries which contain changed books and authors
+ * or cover changed values of ordered attributes.
+ */
+@Component
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final CacheDependencyTracker tracker;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /** Constructor of the class. */
+    public CacheInvalidator(CacheManager cacheManager, CacheDependencyTracker tracker) {
+        this.cacheManager = cacheManager;
+        this.tracker = tracker;
+    }
+
+    /** Function to evict entries which contain any of the entities.
+     * Inside transaction entries are evicted after commit,
+     * so concurrent reads can't cache data which is going to be changed.
+     *
+     * @param operation name of the write operation for counters
+     * @param entities changed entities
+     */
+    public void invalidate(String operation, EntityKey... entities) {
+        invalidate(operation, null, entities);
+    }
+
+    /** Function to evict entries which contain any of the entities or cover changed values.
+     *
+     * @param operation name of the write operation for counters
+     * @param changedRange range between old and new value of the attribute or null
+     * @param entities changed entities
+     */
+    public void invalidate(String operation, ValueRange changedRange, EntityKey... entities) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(operation, changedRange, entities);
+                }
+            });
+        } else {
+            evict(operation, changedRange, entities);
+        }
+    }
+
+    /** Function to get amount of writes and entries they invalidated by write operation.
+     *
+     * @return counters by name of the operation
+     */
+    public Map<String, Map<String, Long>> getCounters() {
+        Map<String, Map<String, Long>> result = new TreeMap<>();
+        counters.forEach((operation, counter) -> {
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put("writes", counter.writes.sum());
+            values.put("evictedEntries", counter.evictedEntries.sum());
+            result.put(operation, values);
+        });
+        return result;
+    }
+
+    private void evict(String operation, ValueRange changedRange, EntityKey... entities) {
+        // recorded first, load which registers its entry after this point is checked against the write
+        tracker.recordInvalidation(Arrays.asList(entities), changedRange);
+        int evicted = 0;
+        for (EntityKey entity : entities) {
+            evicted += evict(tracker.getDependents(entity));
+        }
+        if (changedRange != null) {
+            evicted += evict(tracker.getDependents(changedRange));
+        }
+
+        Counter counter = counters.computeIfAbsent(operation, ignored -> new Counter());
+        counter.writes.increment();
+        counter.evictedEntries.add(evicted);
+    }
+
+    private int evict(Collection<CacheEntryKey> entries) {
+        int evicted = 0;
+        for (CacheEntryKey entry : entries) {
+            Cache cache = cacheManager.getCache(entry.cacheName());
+            if (cache != null && cache.evictIfPresent(entry.key())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private static final class Counter {
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder evictedEntries = new LongAdder();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bookshop.cache;
+
+import com.example.bookshop.dto.CacheStatisticsDto;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/** Class to read statistics of the app caches. */
+@Component
+public class CacheStatistics {
+
+    private final CacheManager cacheManager;
+    private final CacheEvictionCounter evictionCounter;
+
+    /** Constructor of the class. */
+    public CacheStatistics(CacheManager cacheManager, CacheEvictionCounter evictionCounter) {
+        this.cacheManager = cacheManager;
+        this.evictionCounter = evictionCounter;
+    }
+
+    /** Function to get hits, misses, loads, evictions and size of every cache.
+     *
+     * @return statistics by name of the cache
+     */
+    public Map<String, CacheStatisticsDto> getStatistics() {
+        Map<String, CacheStatisticsDto> result = new TreeMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CacheStats stats = nativeCache.stats();
+                result.put(cacheName, new CacheStatisticsDto(
+                        stats.hitCount(),
+                        stats.missCount(),
+                        stats.hitRate(),
+                        stats.loadSuccessCount() + stats.loadFailureCount(),
+                        stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1),
+                        cache instanceof DependencyTrackingCache trackingCache
+                                ? trackingCache.getCoalescedRequests() : 0,
+                        evictionCounter.getCounts(cacheName),
+                        nativeCache.estimatedSize()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.bookshop.cache;
+
+import com.example.bookshop.config.CacheWarmUpProperties;
+import com.example.bookshop.service.AuthorService;
+import com.example.bookshop.service.BookService;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/** Class to fill books and authors caches right after deploy. It periodically saves
+ * the hottest keys of the caches to a file and loads them again on the next startup.
+ * Runners are called before the app reports readiness, so traffic comes to warm caches.
+ */
+@Component
+public class CacheWarmer implements ApplicationRunner {
+
+    private static final char SEPARATOR = ':';
+
+    private final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+    private final CacheManager cacheManager;
+    private final CacheWarmUpProperties properties;
+    private final Map<String, Consumer<Long>> loaders = new LinkedHashMap<>();
+
+    /** Constructor of the class. */
+    public CacheWarmer(CacheManager cacheManager, CacheWarmUpProperties properties,
+                       BookService bookService, AuthorService authorService) {
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        // loading through services fills the caches with the same values and dependencies as requests do
+        loaders.put("books", bookService::findById);
+        loaders.put("authors", authorService::findById);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /** Function to load saved keys into the caches in parallel. Keys are loaded from the hottest one,
+     * loads which don't fit into the time budget are cancelled.
+     *
+     * @return amount of loaded entries
+     */
+    public int warmUp() {
+        Path file = properties.getSnapshotFile();
+        if (properties.getTimeBudget().isZero() || !Files.isReadable(file)) {
+            return 0;
+        }
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Cache warm-up snapshot {} can't be read", file, e);
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        AtomicInteger loaded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getParallelism(),
+                new CustomizableThreadFactory("CacheWarmUp-"));
+        int submitted = 0;
+        for (String line : lines) {
+            int separator = line.lastIndexOf(SEPARATOR);
+            Consumer<Long> loader = separator < 0 ? null : loaders.get(line.substring(0, separator));
+            Long id = separator < 0 ? null : parseId(line.substring(separator + 1));
+            if (loader == null || id == null) {
+                continue;
+            }
+
+            executor.execute(() -> {
+                try {
+                    loader.accept(id);
+                    loaded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // entity was deleted since the snapshot
+                    logger.debug("Cache warm-up skipped {}", line);
+                }
+            });
+            submitted++;
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(properties.getTimeBudget().toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Cache warm-up didn't fit into {}, remaining loads are cancelled",
+                        properties.getTimeBudget());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Cache warm-up loaded {} of {} entries in {} ms", loaded.get(), submitted,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return loaded.get();
+    }
+
+    /** Function to save the hottest keys of the warmed caches. Empty caches don't overwrite
+     * the previous snapshot, so restart without traffic keeps the history.
+     */
+    @Scheduled(initialDelayString = "${bookshop.cache.warm-up.snapshot-interval:1m}",
+            fixedDelayString = "${bookshop.cache.warm-up.snapshot-interval:1m}")
+    @PreDestroy
+    public void snapshot() {
+        List<String> lines = new ArrayList<>();
+        for (String cacheName : loaders.keySet()) {
+            for (Object key : hottestKeys(cacheName)) {
+                lines.add(cacheName + SEPARATOR + key);
+            }
+        }
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        Path file = properties.getSnapshotFile().toAbsolutePath();
+        Path temp = null;
+        try {
+            // readers never see half written snapshot
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Cache warm-up snapshot {} can't be saved", file, e);
+            deleteQuietly(temp);
+        }
+    }
+
+    /** Function to get keys of the cache from the most frequently used one. */
+    private List<Object> hottestKeys(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null
+                || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return List.of();
+        }
+
+        int limit = properties.getKeysPerCache();
+        return nativeCache.policy().eviction()
+                .<List<Object>>map(eviction -> new ArrayList<>(eviction.hottest(limit).keySet()))
+                .orElseGet(() -> nativeCache.asMap().keySet().stream().limit(limit).map(Object.class::cast).toList());
+    }
+
+    private void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            logger.warn("Temporary snapshot {} can't be deleted", temp, e);
+        }
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.bookshop.cache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+
+/** Class of cache which tells tracker about every stored and removed entry. */
+public class DependencyTrackingCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheDependencyTracker tracker;
+    private final Set<Object> loadingKeys = ConcurrentHashMap.newKeySet();
+    private final LongAdder coalescedRequests = new LongAdder();
+
+    /** Constructor of the class.
+     *
+     * @param delegate cache which stores values
+     * @param tracker tracker of dependencies between entries and entities
+     */
+    public DependencyTrackingCache(Cache delegate, CacheDependencyTracker tracker) {
+        this.delegate = delegate;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    /** Function to get amount of requests which came while value of their key was loading
+     * and got that value instead of loading it again.
+     *
+     * @return amount of coalesced requests
+     */
+    public long getCoalescedRequests() {
+        return coalescedRequests.sum();
+    }
+
+    /** Function to get value or load it. Caffeine computes the value atomically,
+     * so concurrent requests of the same key wait for one load. Entry which was loaded
+     * while a write changed its dependencies is evicted, the write couldn't see it yet.
+     */
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean joined = loadingKeys.contains(key);
+        long[] loadStart = {-1};
+        T result = delegate.get(key, () -> {
+            loadStart[0] = tracker.getInvalidationSequence();
+            loadingKeys.add(key);
+            try {
+                T value = valueLoader.call();
+                tracker.register(getName(), key, value);
+                return value;
+            } finally {
+                loadingKeys.remove(key);
+            }
+        });
+
+        boolean loaded = loadStart[0] >= 0;
+        if (loaded && tracker.isInvalidatedSince(loadStart[0], getName(), key)) {
+            evict(key);
+        }
+        if (joined && !loaded) {
+            coalescedRequests.increment();
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, () -> valueLoader.get().thenApply(value -> {
+            tracker.register(getName(), key, value);
+            return value;
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        tracker.register(getName(), key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            tracker.register(getName(), key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        tracker.unregister(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        tracker.unregister(getName(), key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        tracker.unregisterAll(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        tracker.unregisterAll(getName());
+        return invalidated;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.bookshop.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/** Class of cache manager which wraps every Caffeine cache to track dependencies of its entries. */
+public class DependencyTrackingCacheManager extends CaffeineCacheManager {
+
+    private final CacheDependencyTracker tracker;
+
+    /** Constructor of the class. */
+    public DependencyTrackingCacheManager(CacheDependencyTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new DependencyTrackingCache(super.adaptCaffeineCache(name, cache), tracker);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.bookshop.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Locale;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.stereotype.Component;
+
+/** Class to bind meters of the caches wrapped by dependency tracking,
+ * Spring Boot only recognizes plain Caffeine caches.
+ */
+@Component
+public class DependencyTrackingCacheMeterBinderProvider implements CacheMeterBinderProvider<DependencyTrackingCache> {
+
+    private final CacheEvictionCounter evictionCounter;
+
+    /** Constructor of the class. */
+    public DependencyTrackingCacheMeterBinderProvider(CacheEvictionCounter evictionCounter) {
+        this.evictionCounter = evictionCounter;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MeterBinder getMeterBinder(DependencyTrackingCache cache, Iterable<Tag> tags) {
+        if (!(cache.getNativeCache() instanceof Cache<?, ?> nativeCache)) {
+            return null;
+        }
+
+        String cacheName = cache.getName();
+        MeterBinder caffeineMetrics = new CaffeineCacheMetrics<>((Cache<Object, Object>) nativeCache, cacheName, tags);
+        return registry -> {
+            caffeineMetrics.bindTo(registry);
+            FunctionCounter.builder("cache.loads.coalesced", cache, DependencyTrackingCache::getCoalescedRequests)
+                    .tags(tags)
+                    .tag("cache", cacheName)
+                    .description("The number of requests which waited for value loaded by another request")
+                    .register(registry);
+            for (RemovalCause cause : RemovalCause.values()) {
+                if (cause.wasEvicted()) {
+                    FunctionCounter.builder("cache.evictions.cause", evictionCounter,
+                                    counter -> counter.getCount(cacheName, cause))
+                            .tags(tags)
+                            .tag("cache", cacheName)
+                            .tag("cause", cause.name().toLowerCase(Locale.ROOT))
+                            .description("The number of entries evicted from the cache for the cause")
+                            .register(registry);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.bookshop.cache;
+
+import com.example.bookshop.model.Author;
+import com.example.bookshop.model.Book;
+import com.example.bookshop.model.Review;
+import com.github.benmanes.caffeine.cache.Weigher;
+import java.util.Collection;
+import org.hibernate.Hibernate;
+
+/** Class to estimate heap size of cached entities with loaded relations.
+ * Collections which are not loaded from database are counted as empty.
+ */
+public class EntityGraphWeigher implements Weigher<Object, Object> {
+
+    static final int OBJECT_SIZE = 16;
+    static final int REFERENCE_SIZE = 8;
+    static final int ENTITY_SIZE = 64;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, REFERENCE_SIZE + estimate(key, false) + estimate(value, true));
+    }
+
+    /** Function to estimate size of the value in bytes.
+     * Related entities are counted without their own relations, like JSON of the app shows them.
+     *
+     * @param value object to measure
+     * @param deep whether relations of the entity should be counted
+     * @return estimated amount of bytes
+     */
+    static long estimate(Object value, boolean deep) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return OBJECT_SIZE * 2L + string.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_SIZE + bytes.length;
+        }
+        if (value instanceof SerializedBook book) {
+            return OBJECT_SIZE + estimate(book.json(), false) + estimate(book.gzip(), false)
+                    + estimate(book.etag(), false);
+        }
+        if (value instanceof QueryResult<?> result) {
+            return OBJECT_SIZE * 2L + estimate(result.value(), deep)
+                    + (long) result.entities().size() * (OBJECT_SIZE + REFERENCE_SIZE);
+        }
+        if (value instanceof Book book) {
+            long size = ENTITY_SIZE + estimate(book.getTitle(), false);
+            if (deep) {
+                size += estimate(book.getAuthors(), false) + estimate(book.getReviews(), false);
+            }
+            return size;
+        }
+        if (value instanceof Author author) {
+            long size = ENTITY_SIZE + estimate(author.getName(), false) * 2;
+            if (deep) {
+                size += estimate(author.getBooks(), false);
+            }
+            return size;
+        }
+        if (value instanceof Review review) {
+            return ENTITY_SIZE + estimate(review.getMessage(), false);
+        }
+        if (value instanceof Collection<?> values) {
+            if (!Hibernate.isInitialized(values)) {
+                return OBJECT_SIZE;
+            }
+            long size = OBJECT_SIZE * 2L + (long) values.size() * REFERENCE_SIZE;
+            for (Object element : values) {
+                size += estimate(element, deep);
+            }
+            return size;
+        }
+        return OBJECT_SIZE;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.bookshop.cache;
+
+import com.example.bookshop.model.Author;
+
+/** Class that identifies entity which cached values depend on.
+ *
+ * @param type type of the entity
+ * @param id id of the entity
+ */
+public record EntityKey(String type, Object id) {
+    public static final String BOOK = "book";
+    public static final String AUTHOR = "author";
+    public static final String AUTHOR_NAME = "authorName";
+
+    /** Function to get key of the book.
+     *
+     * @param id id of the book
+     * @return key of the book
+     */
+    public static EntityKey book(Object id) {
+        return new EntityKey(BOOK, id);
+    }
+
+    /** Function to get key of the author.
+     *
+     * @param id id of the author
+     * @return key of the author
+     */
+    public static EntityKey author(Object id) {
+        return new EntityKey(AUTHOR, id);
+    }
+
+    /** Function to get key of all authors with the name, used by entries found by author name.
+     * Names are normalized like unique names of the authors.
+     *
+     * @param name name of the author
+     * @return key of the name
+     */
+    public static EntityKey authorName(String name) {
+        return new EntityKey(AUTHOR_NAME, Author.normalizeName(name));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.bookshop.cache;
+
+import java.util.Map;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/** Class to remember for a short time ids of books and authors which weren't found,
+ * so repeated requests of missing ids don't go to database.
+ * Entries are keyed by entity id, so invalidation of the inserted entity removes them.
+ */
+@Component
+public class MissingEntityCache {
+
+    static final String MISSING_BOOKS = "missingBooks";
+    static final String MISSING_AUTHORS = "missingAuthors";
+
+    private static final Map<String, String> CACHE_NAMES = Map.of(
+            EntityKey.BOOK, MISSING_BOOKS,
+            EntityKey.AUTHOR, MISSING_AUTHORS);
+
+    private final CacheManager cacheManager;
+
+    /** Constructor of the class. */
+    public MissingEntityCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /** Function to check whether entity was recently not found.
+     *
+     * @param entity key of the entity
+     * @return true if entity is known to be missing
+     */
+    public boolean isMissing(EntityKey entity) {
+        Cache cache = getCache(entity);
+        return cache != null && cache.get(entity.id()) != null;
+    }
+
+    /** Function to remember that entity wasn't found.
+     *
+     * @param entity key of the entity
+     */
+    public void markMissing(EntityKey entity) {
+        Cache cache = getCache(entity);
+        if (cache != null) {
+            cache.put(entity.id(), Boolean.TRUE);
+        }
+    }
+
+    private Cache getCache(EntityKey entity) {
+        String cacheName = CACHE_NAMES.get(entity.type());
+        return cacheName == null ? null : cacheManager.getCache(cacheName);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.bookshop.cache;
+
+import java.util.Set;
+
+/** Class of query result with everything it was built from.
+ *
+ * @param value result of the query
+ * @param entities entities contained in the result
+ * @param range values of ordered attribute covered by the result or null
+ * @param <T> type of the result
+ */
+public record QueryResult<T>(T value, Set<EntityKey> entities, ValueRange range) {
+}
@@ -0,0 +1,44 @@
+package com.example.bookshop.cache;
+
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/** Class to cache results of finder queries. Results are DTOs which don't show
+ * the entities they were built from, so queries report their dependencies themselves
+ * and the cache keeps them next to the result.
+ */
+@Component
+public class QueryResultCache {
+
+    public static final String BOOKS_BY_AUTHOR = "booksByAuthor";
+    public static final String BOOKS_BY_REVIEW_COUNT = "booksByReviewCount";
+
+    private final CacheManager cacheManager;
+
+    /** Constructor of the class. */
+    public QueryResultCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /** Function to get cached result or run the query and cache its result.
+     * Result is stored together with its dependencies in one atomic load, so concurrent misses
+     * run the query once and write which commits during the query evicts the result.
+     *
+     * @param cacheName name of the cache
+     * @param key parameters of the query
+     * @param query function to run the query
+     * @param <T> type of the result
+     * @return result of the query
+     */
+    public <T> T get(String cacheName, Object key, Supplier<QueryResult<T>> query) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return query.get().value();
+        }
+
+        QueryResult<T> result = cache.get(key, query::get);
+        return result.value();
+    }
+}
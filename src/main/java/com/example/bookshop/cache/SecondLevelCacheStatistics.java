@@ -0,0 +1,91 @@
+package com.example.bookshop.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/** Class to read statistics of Hibernate second-level cache regions.
+ * The same statistics are published as meters, they aren't written to the log.
+ */
+@Component
+public class SecondLevelCacheStatistics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    /** Constructor of the class. */
+    public SecondLevelCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /** Function to get hits, misses and puts of every region.
+     *
+     * @return statistics by name of the region
+     */
+    public Map<String, Map<String, Long>> getRegionStatistics() {
+        Map<String, Map<String, Long>> result = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                Map<String, Long> values = new LinkedHashMap<>();
+                values.put("hits", region.getHitCount());
+                values.put("misses", region.getMissCount());
+                values.put("puts", region.getPutCount());
+                // JCache regions can't count their entries and answer negative number
+                long elementsInMemory = region.getElementCountInMemory();
+                if (elementsInMemory >= 0) {
+                    values.put("elementsInMemory", elementsInMemory);
+                }
+                result.put(regionName, values);
+            }
+        }
+
+        Map<String, Long> queries = new LinkedHashMap<>();
+        queries.put("hits", statistics.getQueryCacheHitCount());
+        queries.put("misses", statistics.getQueryCacheMissCount());
+        queries.put("puts", statistics.getQueryCachePutCount());
+        result.put("queries", queries);
+        return result;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            requestCounter("hibernate.second.level.cache.requests", "hit", region,
+                    CacheRegionStatistics::getHitCount).tag("region", regionName).register(registry);
+            requestCounter("hibernate.second.level.cache.requests", "miss", region,
+                    CacheRegionStatistics::getMissCount).tag("region", regionName).register(registry);
+            FunctionCounter.builder("hibernate.second.level.cache.puts", region, CacheRegionStatistics::getPutCount)
+                    .tag("region", regionName)
+                    .description("The number of entities and collections put into the region")
+                    .register(registry);
+        }
+
+        requestCounter("hibernate.cache.query.requests", "hit", statistics,
+                Statistics::getQueryCacheHitCount).register(registry);
+        requestCounter("hibernate.cache.query.requests", "miss", statistics,
+                Statistics::getQueryCacheMissCount).register(registry);
+        FunctionCounter.builder("hibernate.cache.query.puts", statistics, Statistics::getQueryCachePutCount)
+                .description("The number of query results put into the query cache")
+                .register(registry);
+    }
+
+    private static <T> FunctionCounter.Builder<T> requestCounter(String name, String result, T source,
+                                                                 ToDoubleFunction<T> count) {
+        return FunctionCounter.builder(name, source, count)
+                .tag("result", result)
+                .description("The number of requests to the cache by result");
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bookshop.cache;
+
+/** Class that holds JSON of the book ready to be written into response.
+ *
+ * @param json JSON of the book
+ * @param gzip gzipped JSON or null if JSON is too small to compress
+ * @param etag version stamp of the JSON
+ */
+public record SerializedBook(byte[] json, byte[] gzip, String etag) {
+}
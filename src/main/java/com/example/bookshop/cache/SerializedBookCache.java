@@ -0,0 +1,97 @@
+package com.example.bookshop.cache;
+
+import com.example.bookshop.model.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/** Class to cache serialized JSON of books, so reading cached book doesn't run Jackson.
+ * Entries depend on the same books and authors as entries of books cache,
+ * so the same writes invalidate them.
+ */
+@Component
+public class SerializedBookCache {
+
+    static final String CACHE_NAME = "bookJson";
+    static final int GZIP_THRESHOLD = 1024;
+
+    private final CacheManager cacheManager;
+    private final CacheDependencyTracker tracker;
+    private final ObjectWriter bookWriter;
+
+    /** Constructor of the class. */
+    public SerializedBookCache(CacheManager cacheManager, CacheDependencyTracker tracker, ObjectMapper objectMapper) {
+        this.cacheManager = cacheManager;
+        this.tracker = tracker;
+        this.bookWriter = objectMapper.writerFor(Book.class);
+    }
+
+    /** Function to get serialized book, book is loaded and serialized only on cache miss.
+     * Concurrent misses wait for one load.
+     *
+     * @param id id of the book
+     * @param loader function to load the book
+     * @return JSON of the book
+     */
+    public SerializedBook get(Long id, Supplier<Book> loader) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return serialize(loader.get());
+        }
+
+        QueryResult<SerializedBook> cached;
+        try {
+            cached = cache.get(id, () -> {
+                Book book = loader.get();
+                // bytes don't show which authors they contain
+                return new QueryResult<>(serialize(book), tracker.findEntities(book), null);
+            });
+        } catch (Cache.ValueRetrievalException e) {
+            // cache wraps exceptions of the loader, e.g. not found book should still answer 404
+            throw unwrap(e);
+        }
+        return cached.value();
+    }
+
+    private static RuntimeException unwrap(Cache.ValueRetrievalException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return e;
+    }
+
+    SerializedBook serialize(Book book) {
+        byte[] json;
+        try {
+            json = bookWriter.writeValueAsBytes(book);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize book", e);
+        }
+
+        String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        return new SerializedBook(json, json.length >= GZIP_THRESHOLD ? gzip(json) : null, etag);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(bytes)) {
+            gzipStream.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
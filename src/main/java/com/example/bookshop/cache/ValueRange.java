@@ -0,0 +1,42 @@
+package com.example.bookshop.cache;
+
+/** Class of inclusive range of values of the ordered attribute. It describes values
+ * covered by cached entry or values which were changed by write.
+ *
+ * @param attribute name of the attribute
+ * @param from the least value
+ * @param to the greatest value
+ */
+public record ValueRange(String attribute, long from, long to) {
+    public static final String REVIEW_COUNT = "reviewCount";
+
+    /** Constructor of the class, bounds can be given in any order. */
+    public ValueRange {
+        if (from > to) {
+            long least = to;
+            to = from;
+            from = least;
+        }
+    }
+
+    /** Function to get range of review counters.
+     * Book which didn't exist or was deleted can be given as Long.MIN_VALUE,
+     * so the change crosses every threshold below its counter.
+     *
+     * @param from first bound
+     * @param to second bound
+     * @return range of review counters
+     */
+    public static ValueRange reviewCount(long from, long to) {
+        return new ValueRange(REVIEW_COUNT, from, to);
+    }
+
+    /** Function to check whether ranges of the same attribute have common values.
+     *
+     * @param other another range
+     * @return true if ranges intersect
+     */
+    public boolean overlaps(ValueRange other) {
+        return attribute.equals(other.attribute) && from <= other.to && other.from <= to;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.bookshop.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -22,4 +23,19 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /** Constructor of the executor that scans log archives in parallel.
+     * When the pool and the queue are full, the search thread scans the archive itself.
+     */
+    @Bean(name = "logSearchExecutor")
+    public Executor logSearchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("LogSearch-");
+        executor.initialize();
+        return executor;
+    }
 }
\ No newline at end of file
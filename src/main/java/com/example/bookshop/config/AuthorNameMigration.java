@@ -0,0 +1,68 @@
+package com.example.bookshop.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/** Class to fill normalized names of authors which were saved before the column was added.
+ * Authors with the same normalized name are merged into the oldest one before unique constraint
+ * is added, so database with duplicates from earlier versions still starts.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class AuthorNameMigration {
+
+    private static final String CONSTRAINT_NAME = "uk_author_normalized_name";
+
+    /** Id of the oldest author with the same normalized name as author. */
+    private static final String ORIGINAL_ID = "(SELECT MIN(original.id) FROM author original "
+            + "WHERE original.normalized_name = author.normalized_name)";
+    private static final String DUPLICATE = "author.id > " + ORIGINAL_ID;
+
+    private final Logger logger = LoggerFactory.getLogger(AuthorNameMigration.class);
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Constructor of the class. */
+    public AuthorNameMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Function to normalize names, merge duplicates and protect normalized names from new duplicates.
+     * Every step can be repeated, so restart after failure finishes the migration.
+     */
+    @PostConstruct
+    public void migrate() {
+        fillNormalizedNames();
+        mergeDuplicates();
+        jdbcTemplate.execute("ALTER TABLE author ADD CONSTRAINT IF NOT EXISTS " + CONSTRAINT_NAME
+                + " UNIQUE (normalized_name)");
+    }
+
+    /** Function to normalize names the same way as Author.normalizeName does. */
+    private void fillNormalizedNames() {
+        int updated = jdbcTemplate.update("UPDATE author "
+                + "SET normalized_name = LOWER(REGEXP_REPLACE(TRIM(name), '\\s+', ' ')) "
+                + "WHERE normalized_name IS NULL");
+        if (updated > 0) {
+            logger.info("Normalized names of {} authors", updated);
+        }
+    }
+
+    /** Function to move books of duplicates to the oldest author and delete duplicates. */
+    private void mergeDuplicates() {
+        jdbcTemplate.update("INSERT INTO book_author (book_id, author_id) "
+                + "SELECT DISTINCT book_author.book_id, " + ORIGINAL_ID + " "
+                + "FROM book_author JOIN author ON author.id = book_author.author_id "
+                + "WHERE " + DUPLICATE + " AND NOT EXISTS (SELECT 1 FROM book_author linked "
+                + "WHERE linked.book_id = book_author.book_id AND linked.author_id = " + ORIGINAL_ID + ")");
+        jdbcTemplate.update("DELETE FROM book_author WHERE author_id IN (SELECT author.id FROM author WHERE "
+                + DUPLICATE + ")");
+        int deleted = jdbcTemplate.update("DELETE FROM author WHERE " + DUPLICATE);
+        if (deleted > 0) {
+            logger.info("Merged {} duplicate authors", deleted);
+        }
+    }
+}
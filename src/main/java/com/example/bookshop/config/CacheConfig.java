@@ -1,32 +1,103 @@
 package com.example.bookshop.config;
 
+import com.example.bookshop.cache.BookCacheLoader;
+import com.example.bookshop.cache.CacheDependencyTracker;
+import com.example.bookshop.cache.CacheEvictionCounter;
+import com.example.bookshop.cache.DependencyTrackingCacheManager;
+import com.example.bookshop.cache.EntityGraphWeigher;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /** Class to store cache. */
 @Configuration
 @EnableCaching
+@EnableScheduling
+@EnableConfigurationProperties({CacheSpecProperties.class, CacheWarmUpProperties.class})
 public class CacheConfig {
 
     /** Function to create manager that will hold all app cache.
+     * Every cache from properties gets its own limits, other caches use the default ones.
+     * All caches record statistics of hits, misses and loads.
      *
+     * @param tracker tracker of dependencies between cached entries and entities
+     * @param properties limits of the caches
+     * @param evictionCounter counter of evicted entries by cause
+     * @param bookCacheLoader loader of the books cache
+     * @param refreshExecutor executor of background reloads
      * @return object of CacheManager
      */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.registerCustomCache("logTasks",
-                Caffeine.newBuilder()
-                        .maximumSize(100)
-                        .expireAfterWrite(1, TimeUnit.HOURS)
-                        .build());
+    public CacheManager cacheManager(CacheDependencyTracker tracker, CacheSpecProperties properties,
+                                     CacheEvictionCounter evictionCounter, BookCacheLoader bookCacheLoader,
+                                     @Qualifier("cacheRefreshExecutor") Executor refreshExecutor) {
+        Map<String, CacheLoader<Object, Object>> loaders = Map.of("books", bookCacheLoader);
+
+        CaffeineCacheManager cacheManager = new DependencyTrackingCacheManager(tracker);
+        properties.getSpecs().forEach((name, spec) -> {
+            Caffeine<Object, Object> builder = builder(spec)
+                    .evictionListener((key, value, cause) -> {
+                        tracker.unregister(name, key);
+                        evictionCounter.record(name, cause);
+                    });
+
+            if (spec.refreshAfterWrite() == null) {
+                cacheManager.registerCustomCache(name, builder.build());
+            } else {
+                CacheLoader<Object, Object> loader = loaders.get(name);
+                if (loader == null) {
+                    throw new IllegalStateException("Cache " + name + " has no loader to refresh entries");
+                }
+                cacheManager.registerCustomCache(name, builder
+                        .refreshAfterWrite(spec.refreshAfterWrite())
+                        .executor(refreshExecutor)
+                        .build(loader));
+            }
+        });
         cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(20).expireAfterWrite(10, TimeUnit.MINUTES));
+                .maximumSize(20).expireAfterWrite(10, TimeUnit.MINUTES).recordStats());
         return cacheManager;
     }
+
+    /** Function to create executor that reloads cache entries in background.
+     * Queue is bounded, refreshes which don't fit are skipped and old value is served
+     * until the next read tries again.
+     */
+    @Bean(name = "cacheRefreshExecutor")
+    public Executor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("CacheRefresh-");
+        // entry of the skipped refresh is loaded again when it expires
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private static Caffeine<Object, Object> builder(CacheSpecProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.maximumWeight() != null) {
+            builder.maximumWeight(spec.maximumWeight().toBytes()).weigher(new EntityGraphWeigher());
+        } else if (spec.maximumSize() != null) {
+            builder.maximumSize(spec.maximumSize());
+        }
+        if (spec.expireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.expireAfterWrite());
+        }
+        return builder;
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.bookshop.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/** Class to hold limits of every cache of the app, read from bookshop.cache properties.
+ * It isn't a record, logging aspect proxies every bean of the app and can't subclass final class.
+ */
+@ConfigurationProperties("bookshop.cache")
+public class CacheSpecProperties {
+
+    /** Limits by name of the cache. */
+    private Map<String, Spec> specs = new HashMap<>();
+
+    public Map<String, Spec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, Spec> specs) {
+        this.specs = specs == null ? new HashMap<>() : specs;
+    }
+
+    /** Class to hold limits of one cache.
+     *
+     * @param maximumSize max amount of entries
+     * @param maximumWeight max estimated heap size of entries, can't be used with maximumSize
+     * @param expireAfterWrite time after which entry is removed
+     * @param refreshAfterWrite time after which entry is reloaded in background on the next read,
+     *                          cache needs a loader for that
+     */
+    public record Spec(Long maximumSize, DataSize maximumWeight, Duration expireAfterWrite,
+                       Duration refreshAfterWrite) {
+
+        /** Constructor of the class. */
+        public Spec {
+            if (maximumSize != null && maximumWeight != null) {
+                throw new IllegalArgumentException("Cache can be limited either by size or by weight");
+            }
+            if (refreshAfterWrite != null && expireAfterWrite != null
+                    && refreshAfterWrite.compareTo(expireAfterWrite) >= 0) {
+                throw new IllegalArgumentException("Cache entries should be refreshed before they expire");
+            }
+        }
+    }
+}
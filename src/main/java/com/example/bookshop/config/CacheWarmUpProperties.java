@@ -0,0 +1,72 @@
+package com.example.bookshop.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Class to hold settings of cache warm-up, read from bookshop.cache.warm-up properties.
+ * It isn't a record, logging aspect proxies every bean of the app and can't subclass final class.
+ */
+@ConfigurationProperties("bookshop.cache.warm-up")
+public class CacheWarmUpProperties {
+
+    /** File with the hottest keys of the caches. */
+    private Path snapshotFile = Path.of("cache-warm-up.txt");
+    /** Max amount of keys saved for every cache. */
+    private int keysPerCache = 1000;
+    /** Time between snapshots of the hottest keys. */
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+    /** Max time the app waits for warm-up on startup, zero disables warm-up. */
+    private Duration timeBudget = Duration.ofSeconds(30);
+    /** Amount of threads loading entries on startup. */
+    private int parallelism = 4;
+
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public void setSnapshotFile(Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    public int getKeysPerCache() {
+        return keysPerCache;
+    }
+
+    public void setKeysPerCache(int keysPerCache) {
+        if (keysPerCache < 0) {
+            throw new IllegalArgumentException("Cache warm-up limits should be positive");
+        }
+        this.keysPerCache = keysPerCache;
+    }
+
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(Duration snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public Duration getTimeBudget() {
+        return timeBudget;
+    }
+
+    public void setTimeBudget(Duration timeBudget) {
+        if (timeBudget.isNegative()) {
+            throw new IllegalArgumentException("Cache warm-up limits should be positive");
+        }
+        this.timeBudget = timeBudget;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Cache warm-up limits should be positive");
+        }
+        this.parallelism = parallelism;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bookshop.config;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/** Class to move id sequences past ids which were generated by identity columns. */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceMigration {
+
+    /** Has to be equal to allocationSize of sequence generators of the entities. */
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "book", "book_seq",
+            "author", "author_seq",
+            "review", "review_seq");
+
+    private final Logger logger = LoggerFactory.getLogger(IdSequenceMigration.class);
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Constructor of the class. */
+    public IdSequenceMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Function to move every sequence after the greatest id of its table.
+     * Sequence which is already ahead isn't touched, other instances might hold blocks of ids below its value.
+     */
+    @PostConstruct
+    public void alignSequences() {
+        SEQUENCES.forEach((table, sequence) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            Long nextValue = jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                    + "WHERE LOWER(SEQUENCE_NAME) = ?", Long.class, sequence);
+            // pooled optimizer treats sequence value as upper bound of the block of ids
+            long restartValue = maxId + ALLOCATION_SIZE;
+            if (maxId > 0 && nextValue != null && nextValue < restartValue) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restartValue);
+                logger.info("Sequence {} moved from {} to {}", sequence, nextValue, restartValue);
+            }
+        });
+    }
+}
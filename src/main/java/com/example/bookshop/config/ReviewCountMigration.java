@@ -0,0 +1,33 @@
+package com.example.bookshop.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/** Class to recount reviews of the books which counters don't match review table. */
+@Component
+@DependsOn("entityManagerFactory")
+public class ReviewCountMigration {
+
+    private final Logger logger = LoggerFactory.getLogger(ReviewCountMigration.class);
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Constructor of the class. */
+    public ReviewCountMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Function to fill review counters of books which were saved before the column was added. */
+    @PostConstruct
+    public void recountReviews() {
+        int updated = jdbcTemplate.update("UPDATE book SET review_count = "
+                + "(SELECT COUNT(*) FROM review WHERE review.book_id = book.id) "
+                + "WHERE review_count <> (SELECT COUNT(*) FROM review WHERE review.book_id = book.id)");
+        if (updated > 0) {
+            logger.info("Review counters of {} books were recounted", updated);
+        }
+    }
+}
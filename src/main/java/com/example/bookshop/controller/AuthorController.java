@@ -145,7 +145,8 @@ public class AuthorController {
                                    @PathVariable @Min(1) Long authorId,
                                    @Parameter(description = "id of the book", example = "1", required = true)
                                    @PathVariable @Min(1) Long bookId) {
-        return authorService.findById(authorId, bookId);
+        authorService.checkBookAuthor(authorId, bookId);
+        return authorService.findById(authorId);
     }
 
     /** Function to get authors by name.
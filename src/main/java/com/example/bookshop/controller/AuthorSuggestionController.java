@@ -0,0 +1,54 @@
+package com.example.bookshop.controller;
+
+import com.example.bookshop.dto.AuthorSuggestionDto;
+import com.example.bookshop.service.AuthorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.List;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Class to suggest authors while user is typing the name. */
+@RestController
+@RequestMapping("/authors")
+@Validated
+@Tag(name = "Author suggestions", description = "Autocomplete of author names")
+public class AuthorSuggestionController {
+    private final AuthorService authorService;
+
+    /** Constructor of the class. */
+    public AuthorSuggestionController(AuthorService authorService) {
+        this.authorService = authorService;
+    }
+
+    /** Function to get authors which names start with prefix.
+     *
+     * @param prefix beginning of the name
+     * @param limit max amount of authors
+     * @return ids and names of the authors in alphabetical order
+     */
+    @Operation(summary = "Suggest authors", description = "Returns authors which names start with prefix",
+            responses = {
+                @ApiResponse(responseCode = "200", description =
+                            "Get suggested authors"),
+                @ApiResponse(responseCode = "500", description =
+                            "Internal server error",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Internal server error\" }")))})
+    @GetMapping("/suggest")
+    public List<AuthorSuggestionDto> suggest(@Parameter(description = "Beginning of the name", example = "Jos")
+                                                 @RequestParam String prefix,
+                                             @Parameter(description = "Max amount of authors", example = "10")
+                                                 @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+        return authorService.suggest(prefix, limit);
+    }
+}
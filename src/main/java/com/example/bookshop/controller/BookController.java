@@ -1,8 +1,14 @@
 package com.example.bookshop.controller;
 
+import com.example.bookshop.cache.SerializedBook;
+import com.example.bookshop.cache.SerializedBookCache;
 import com.example.bookshop.dto.BookDto;
-import com.example.bookshop.mapper.BookMapper;
+import com.example.bookshop.dto.BookImportResultDto;
+import com.example.bookshop.dto.BookPageDto;
+import com.example.bookshop.dto.BookSearchPageDto;
 import com.example.bookshop.model.Book;
+import com.example.bookshop.service.BookExportService;
+import com.example.bookshop.service.BookImportService;
 import com.example.bookshop.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,8 +17,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,9 +32,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /** Class that control requests and delegate logic to other classes. **/
 @RestController
@@ -32,12 +47,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class BookController {
 
     private final BookService bookService;
-    private final BookMapper bookMapper;
+    private final BookExportService bookExportService;
+    private final BookImportService bookImportService;
+    private final SerializedBookCache serializedBookCache;
 
     /** Constructor that sets bookService variable. */
-    public BookController(BookService bookService, BookMapper bookMapper) {
+    public BookController(BookService bookService, BookExportService bookExportService,
+                          BookImportService bookImportService, SerializedBookCache serializedBookCache) {
         this.bookService = bookService;
-        this.bookMapper = bookMapper;
+        this.bookExportService = bookExportService;
+        this.bookImportService = bookImportService;
+        this.serializedBookCache = serializedBookCache;
     }
 
     /**Function to get books with title containing substring.
@@ -76,15 +96,103 @@ public class BookController {
         return bookService.findAllBooks();
     }
 
+    /** Function to get books page by page.
+     *
+     * @param after id of the last book of the previous page
+     * @param limit max amount of books in the page
+     * @return page of books with cursor for the next page
+     */
+    @Operation(summary = "Get books page", description = "Returns books with id greater than cursor",
+            responses = {
+                @ApiResponse(responseCode = "200", description =
+                            "Get page of books"),
+                @ApiResponse(responseCode = "500", description =
+                            "Internal server error",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Internal server error\" }")))})
+    @GetMapping("/page")
+    public BookPageDto getBooksPage(@Parameter(description = "Id of the last book of the previous page", example = "0")
+                                        @RequestParam(defaultValue = "0") @Min(0) Long after,
+                                    @Parameter(description = "Max amount of books in the page", example = "20")
+                                        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return bookService.findBooksAfter(after, limit);
+    }
+
+    /** Function to find books with title containing substring.
+     *
+     * @param query substring of the title
+     * @param page number of the page starting from zero
+     * @param size max amount of books in the page
+     * @return page of found books, the best matches first
+     */
+    @Operation(summary = "Search books", description = "Returns books with title containing query, "
+            + "exact and prefix matches first",
+            responses = {
+                @ApiResponse(responseCode = "200", description =
+                            "Get page of found books"),
+                @ApiResponse(responseCode = "400", description =
+                            "Query is too short",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Query should contain from 3 to 100 characters\" }"))),
+                @ApiResponse(responseCode = "500", description =
+                            "Internal server error",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Internal server error\" }")))})
+    @GetMapping("/search")
+    public BookSearchPageDto searchBooks(@Parameter(description = "Substring of the title", example = "java")
+                                             @RequestParam @Size(min = 3, max = 100,
+                                                 message = "Query should contain from 3 to 100 characters") String query,
+                                         @Parameter(description = "Number of the page", example = "0")
+                                             @RequestParam(defaultValue = "0") @Min(0) @Max(1000) int page,
+                                         @Parameter(description = "Max amount of books in the page", example = "20")
+                                             @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return bookService.searchByTitle(query, page, size);
+    }
+
+    /** Function to export all books as newline-delimited JSON.
+     *
+     * @param gzip whether response should be compressed
+     * @return stream of books, one JSON object per line
+     */
+    @Operation(summary = "Export books", description = "Streams all books as newline-delimited JSON",
+            responses = {
+                @ApiResponse(responseCode = "200", description =
+                            "Books are streamed"),
+                @ApiResponse(responseCode = "500", description =
+                            "Internal server error",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Internal server error\" }")))})
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks(@Parameter(description = "Compress response with gzip")
+                                                                 @RequestParam(defaultValue = "false") boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON);
+        if (!gzip) {
+            return response.body(bookExportService::exportAll);
+        }
+
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(outputStream -> {
+                    GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 8192);
+                    bookExportService.exportAll(gzipStream);
+                    gzipStream.finish();
+                });
+    }
+
     /**Function that holds Get request and returns book with certain id.
+     * JSON is taken from cache as is, gzipped copy is sent to clients which accept it.
      *
      * @param id id of the book
+     * @param acceptEncoding encodings accepted by client
+     * @param request request to check ETag of the client
      * @return JSON object of Book
      * */
     @Operation(summary = "Get book", description = "Returns book with specified id",
             responses = {
                 @ApiResponse(responseCode = "200", description =
-                            "Get book by id"),
+                            "Get book by id",
+                            content = @Content(schema = @Schema(implementation = Book.class))),
+                @ApiResponse(responseCode = "304", description =
+                            "Book wasn't changed since ETag of the client"),
                 @ApiResponse(responseCode = "404", description =
                             "Book not found",
                             content = @Content(schema = @Schema(example =
@@ -93,10 +201,26 @@ public class BookController {
                             "Internal server error",
                             content = @Content(schema = @Schema(example =
                                     "{ \"error\": \"Internal server error\" }")))})
-    @GetMapping("/{id}")
-    public Book getBookById(@Parameter(description = "Id of the book", example = "1", required = true)
-                                   @PathVariable @Min(1) Long id) {
-        return bookService.findById(id);
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getBookById(@Parameter(description = "Id of the book", example = "1", required = true)
+                                              @PathVariable @Min(1) Long id,
+                                              @Parameter(hidden = true)
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                              String acceptEncoding,
+                                              WebRequest request) {
+        SerializedBook book = serializedBookCache.get(id, () -> bookService.findById(id));
+        if (request.checkNotModified(book.etag())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(book.etag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (book.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(book.gzip());
+        }
+        return response.body(book.json());
     }
 
     /** Function to get books with specified author.
@@ -115,17 +239,18 @@ public class BookController {
     @GetMapping("/find")
     public List<BookDto> getBooksByAuthorName(@Parameter(description = "Name of the author", example = "Joshua Bloch")
                                                   @RequestParam(required = false) String authorName) {
-        return bookService.findByAuthorName(authorName).stream()
-                .map(bookMapper::toDto)
-                .toList();
+        return bookService.findByAuthorName(authorName);
     }
 
     /** Function to get books with review amount greater than reviewCount.
      *
      * @param reviewCount amount of reviews
-     * @return list of books
+     * @param page number of the page starting from zero
+     * @param size max amount of books in the page
+     * @return list of books, the most reviewed first
      */
-    @Operation(summary = "Get books", description = "Returns books filtered by amount of reviews",
+    @Operation(summary = "Get books", description = "Returns books filtered by amount of reviews, "
+            + "the most reviewed first",
             responses = {
                 @ApiResponse(responseCode = "200", description =
                             "Get books by amount of reviews"),
@@ -135,10 +260,12 @@ public class BookController {
                                     "{ \"error\": \"Internal server error\" }")))})
     @GetMapping("/find/reviews")
     public List<BookDto> getBooksByReviewCount(@Parameter(description = "Amount of reviews", example = "3")
-                                                   @RequestParam(required = false) @Min(0) Long reviewCount) {
-        return bookService.findByReviewCount(reviewCount).stream()
-                .map(bookMapper::toDto)
-                .toList();
+                                                   @RequestParam(defaultValue = "0") @Min(0) Long reviewCount,
+                                               @Parameter(description = "Number of the page", example = "0")
+                                                   @RequestParam(defaultValue = "0") @Min(0) int page,
+                                               @Parameter(description = "Max amount of books in the page", example = "20")
+                                                   @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return bookService.findByReviewCount(reviewCount, page, size);
     }
 
     /** Function to create new book.
@@ -162,11 +289,19 @@ public class BookController {
     /** Function to save some books for one request.
      *
      * @param books list of books
-     * @return list of the books in JSON format
+     * @return result of the import for every book
      */
+    @Operation(summary = "Create books", description = "Creates books in batches and reports result for each book",
+            responses = {
+                @ApiResponse(responseCode = "200", description =
+                            "Books were processed"),
+                @ApiResponse(responseCode = "500", description =
+                            "Internal server error",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Internal server error\" }")))})
     @PostMapping("/b")
-    public List<Book> createBooks(@Valid @RequestBody List<Book> books) {
-        return books.stream().map(bookService::save).toList();
+    public List<BookImportResultDto> createBooks(@RequestBody List<Book> books) {
+        return bookImportService.importBooks(books);
     }
 
     /** Function that holds Put request and updates book with certain id.
@@ -0,0 +1,65 @@
+package com.example.bookshop.controller;
+
+import com.example.bookshop.cache.CacheInvalidator;
+import com.example.bookshop.cache.CacheStatistics;
+import com.example.bookshop.cache.SecondLevelCacheStatistics;
+import com.example.bookshop.dto.CacheStatisticsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Map;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Class to show how caches of the app behave. */
+@RestController
+@RequestMapping("/cache")
+@Tag(name = "Cache statistics", description = "Statistics of the app caches")
+public class CacheController {
+
+    private final CacheInvalidator cacheInvalidator;
+    private final SecondLevelCacheStatistics secondLevelCacheStatistics;
+    private final CacheStatistics cacheStatistics;
+
+    /** Constructor of the class. */
+    public CacheController(CacheInvalidator cacheInvalidator, SecondLevelCacheStatistics secondLevelCacheStatistics,
+                           CacheStatistics cacheStatistics) {
+        this.cacheInvalidator = cacheInvalidator;
+        this.secondLevelCacheStatistics = secondLevelCacheStatistics;
+        this.cacheStatistics = cacheStatistics;
+    }
+
+    /** Function to get hits, misses, loads, evictions and size of every app cache.
+     *
+     * @return statistics by name of the cache
+     */
+    @Operation(summary = "Get cache statistics",
+            description = "Returns hit ratio, load time, evictions by cause and size of every app cache")
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, CacheStatisticsDto>> getStatistics() {
+        return ResponseEntity.ok(cacheStatistics.getStatistics());
+    }
+
+    /** Function to get amount of cache entries invalidated by every kind of write.
+     *
+     * @return amount of writes and evicted entries by name of the write operation
+     */
+    @Operation(summary = "Get invalidation counters",
+            description = "Returns amount of writes and cache entries they invalidated")
+    @GetMapping("/invalidations")
+    public ResponseEntity<Map<String, Map<String, Long>>> getInvalidations() {
+        return ResponseEntity.ok(cacheInvalidator.getCounters());
+    }
+
+    /** Function to get statistics of entity, collection and query regions of Hibernate cache.
+     *
+     * @return hits, misses and puts by name of the region
+     */
+    @Operation(summary = "Get second-level cache statistics",
+            description = "Returns hits, misses and puts of every Hibernate cache region")
+    @GetMapping("/regions")
+    public ResponseEntity<Map<String, Map<String, Long>>> getRegions() {
+        return ResponseEntity.ok(secondLevelCacheStatistics.getRegionStatistics());
+    }
+}
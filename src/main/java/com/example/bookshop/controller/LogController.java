@@ -1,18 +1,22 @@
 package com.example.bookshop.controller;
 
+import com.example.bookshop.dto.LogQueryDto;
 import com.example.bookshop.model.LogObj;
 import com.example.bookshop.service.LogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -43,6 +47,24 @@ public class LogController {
         return ResponseEntity.accepted().body(taskId);
     }
 
+    /** Function to create log file with records which match the query.
+     *
+     * @param query filters of the records
+     * @return id of the log creation task
+     */
+    @Operation(summary = "Query logs",
+            description = "Starts creation of log file with records of the time range, level and text, "
+                    + "file is downloaded like generated one",
+            responses = {
+                @ApiResponse(responseCode = "202", description = "Id of the task"),
+                @ApiResponse(responseCode = "400", description = "Invalid time, level or regex")
+            })
+    @PostMapping("/query")
+    public ResponseEntity<Long> queryLogs(@RequestBody LogQueryDto query) {
+        Long taskId = logService.startLogQuery(query);
+        return ResponseEntity.accepted().body(taskId);
+    }
+
     /** Function to check status of log creation task.
      *
      * @param taskId id of the log creation task
@@ -65,13 +87,23 @@ public class LogController {
     /** Function to download created file with specified logs.
      *
      * @param taskId id of the task
-     * @return file with specified logs
+     * @param request request with range and conditional headers
+     * @param response response to write the file to
      */
-    @Operation(summary = "Download created logs", description = "Downloads generated log file by ID")
+    @Operation(summary = "Download created logs",
+            description = "Downloads generated log file by ID, supports byte ranges, ETag and gzip compression",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Whole file"),
+                @ApiResponse(responseCode = "206", description = "Requested range of the file"),
+                @ApiResponse(responseCode = "304", description = "File wasn't changed since ETag of the client"),
+                @ApiResponse(responseCode = "416", description = "Range is outside of the file")
+            })
     @GetMapping("/download/{taskId}")
-    public ResponseEntity<Resource> downloadCreatedLogs(
+    public void downloadCreatedLogs(
             @Parameter(description = "Task ID")
-            @PathVariable Long taskId) throws IOException {
-        return logService.downloadCreatedLogs(taskId);
+            @PathVariable Long taskId,
+            @Parameter(hidden = true) HttpServletRequest request,
+            @Parameter(hidden = true) HttpServletResponse response) throws IOException {
+        logService.downloadCreatedLogs(taskId, request, response);
     }
-}
\ No newline at end of file
+}
@@ -66,7 +66,7 @@ public class ReviewController {
     @PostMapping("/b")
     public List<Review> createReviews(@Parameter(description = "id of the book", example = "1", required = true)
                                           @PathVariable @Min(1) Long bookId, @Valid @RequestBody List<Review> reviews) {
-        return reviews.stream().map(review -> reviewService.createReview(bookId, review)).toList();
+        return reviewService.createReviews(bookId, reviews);
     }
 
     /** Function to update review of the book.
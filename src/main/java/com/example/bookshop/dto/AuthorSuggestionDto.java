@@ -0,0 +1,34 @@
+package com.example.bookshop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/** Class that represents author suggested by the beginning of the name. */
+@Schema(description = "Id and name of the suggested author")
+public class AuthorSuggestionDto {
+    @Schema(description = "Id of the author", example = "1")
+    private Long id;
+    @Schema(description = "Name of the author", example = "Joshua Bloch")
+    private String name;
+
+    /** Constructor of the class. */
+    public AuthorSuggestionDto(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.bookshop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/** Class that represents result of import of one book. */
+@Schema(description = "Result of import of one book")
+public class BookImportResultDto {
+    @Schema(description = "Position of the book in request", example = "0")
+    private int index;
+    @Schema(description = "Identifier of the created book", example = "1")
+    private Long id;
+    @Schema(description = "Title of the book", example = "Java")
+    private String title;
+    @Schema(description = "Status of the import", example = "CREATED")
+    private String status;
+    @Schema(description = "Reason of the failure")
+    private String errorMessage;
+
+    /** Constructor of the class. */
+    public BookImportResultDto(int index, String title, String status) {
+        this.index = index;
+        this.title = title;
+        this.status = status;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bookshop.dto;
+
+import com.example.bookshop.model.Book;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/** Class that represents one page of the books catalog. */
+@Schema(description = "Page of the books catalog")
+public class BookPageDto {
+    @Schema(description = "Books of the page ordered by id")
+    private List<Book> books;
+    @Schema(description = "Cursor for the next page, absent on the last page", example = "20")
+    private Long nextCursor;
+
+    /** Constructor of the class. */
+    public BookPageDto(List<Book> books, Long nextCursor) {
+        this.books = books;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Book> getBooks() {
+        return books;
+    }
+
+    public void setBooks(List<Book> books) {
+        this.books = books;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
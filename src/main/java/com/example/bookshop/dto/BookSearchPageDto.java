@@ -0,0 +1,35 @@
+package com.example.bookshop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/** Class that represents one page of books found by title. */
+@Schema(description = "Page of books found by title")
+public class BookSearchPageDto {
+    @Schema(description = "Found books, the best matches first")
+    private List<BookTitleDto> books;
+    @Schema(description = "Amount of found books on all pages", example = "42")
+    private int total;
+
+    /** Constructor of the class. */
+    public BookSearchPageDto(List<BookTitleDto> books, int total) {
+        this.books = books;
+        this.total = total;
+    }
+
+    public List<BookTitleDto> getBooks() {
+        return books;
+    }
+
+    public void setBooks(List<BookTitleDto> books) {
+        this.books = books;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.bookshop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/** Class that represents book by its id and title only. */
+@Schema(description = "Id and title of the book")
+public class BookTitleDto {
+    @Schema(description = "Id of the book", example = "1")
+    private Long id;
+    @Schema(description = "Title of the book", example = "Effective Java")
+    private String title;
+
+    /** Constructor of the class. */
+    public BookTitleDto(Long id, String title) {
+        this.id = id;
+        this.title = title;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+}
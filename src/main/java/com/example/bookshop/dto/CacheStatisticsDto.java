@@ -0,0 +1,102 @@
+package com.example.bookshop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+
+/** Class that represents statistics of one app cache. */
+@Schema(description = "Statistics of the cache")
+public class CacheStatisticsDto {
+    @Schema(description = "Amount of lookups which found value", example = "120")
+    private long hits;
+    @Schema(description = "Amount of lookups which didn't find value", example = "30")
+    private long misses;
+    @Schema(description = "Share of lookups which found value", example = "0.8")
+    private double hitRatio;
+    @Schema(description = "Amount of values loaded by the cache", example = "30")
+    private long loads;
+    @Schema(description = "Average time of loading value in milliseconds", example = "4.2")
+    private double averageLoadMillis;
+    @Schema(description = "Amount of requests which waited for value loaded by another request", example = "5")
+    private long coalescedRequests;
+    @Schema(description = "Amount of entries evicted by the cache by name of the cause")
+    private Map<String, Long> evictions;
+    @Schema(description = "Approximate amount of entries in the cache", example = "25")
+    private long estimatedSize;
+
+    /** Constructor of the class. */
+    public CacheStatisticsDto(long hits, long misses, double hitRatio, long loads, double averageLoadMillis,
+                              long coalescedRequests, Map<String, Long> evictions, long estimatedSize) {
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRatio = hitRatio;
+        this.loads = loads;
+        this.averageLoadMillis = averageLoadMillis;
+        this.coalescedRequests = coalescedRequests;
+        this.evictions = evictions;
+        this.estimatedSize = estimatedSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+
+    public long getLoads() {
+        return loads;
+    }
+
+    public void setLoads(long loads) {
+        this.loads = loads;
+    }
+
+    public double getAverageLoadMillis() {
+        return averageLoadMillis;
+    }
+
+    public void setAverageLoadMillis(double averageLoadMillis) {
+        this.averageLoadMillis = averageLoadMillis;
+    }
+
+    public long getCoalescedRequests() {
+        return coalescedRequests;
+    }
+
+    public void setCoalescedRequests(long coalescedRequests) {
+        this.coalescedRequests = coalescedRequests;
+    }
+
+    public Map<String, Long> getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(Map<String, Long> evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    public void setEstimatedSize(long estimatedSize) {
+        this.estimatedSize = estimatedSize;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.bookshop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/** Class that represents filters of the log query, every filter is optional. */
+@Schema(description = "Filters of the log records")
+public class LogQueryDto {
+    @Schema(description = "Time of the earliest record", example = "19-03-2025 10:00:00")
+    private String from;
+    @Schema(description = "Time of the latest record", example = "19-03-2025 18:00:00")
+    private String to;
+    @Schema(description = "Least important level of the records", example = "WARN")
+    private String level;
+    @Schema(description = "Text which records should contain", example = "Book not found")
+    private String contains;
+    @Schema(description = "Regular expression which should be found in records", example = "(Book|Author) not found")
+    private String regex;
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
+    public String getContains() {
+        return contains;
+    }
+
+    public void setContains(String contains) {
+        this.contains = contains;
+    }
+
+    public String getRegex() {
+        return regex;
+    }
+
+    public void setRegex(String regex) {
+        this.regex = regex;
+    }
+}
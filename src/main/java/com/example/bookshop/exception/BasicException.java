@@ -13,6 +13,16 @@ public class BasicException extends RuntimeException {
         this.message = message;
     }
 
+    /** Constructor of the class.
+     *
+     * @param writableStackTrace false for expected errors which stack trace is never read
+     */
+    protected BasicException(HttpStatus status, String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.status = status;
+        this.message = message;
+    }
+
     public HttpStatus getStatus() {
         return status;
     }
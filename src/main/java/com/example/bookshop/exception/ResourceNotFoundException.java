@@ -9,4 +9,12 @@ public class ResourceNotFoundException extends BasicException {
     public ResourceNotFoundException(HttpStatus status, String message) {
         super(status, message);
     }
+
+    /** Constructor of the class.
+     *
+     * @param writableStackTrace false to skip filling the stack trace of frequent errors
+     */
+    public ResourceNotFoundException(HttpStatus status, String message, boolean writableStackTrace) {
+        super(status, message, writableStackTrace);
+    }
 }
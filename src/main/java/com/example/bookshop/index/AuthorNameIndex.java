@@ -0,0 +1,163 @@
+package com.example.bookshop.index;
+
+import com.example.bookshop.dto.AuthorSuggestionDto;
+import com.example.bookshop.model.Author;
+import com.example.bookshop.repository.AuthorNameView;
+import com.example.bookshop.repository.AuthorRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+/** Class to hold in memory ids of authors by their normalized names, so write operations
+ * don't have to ask database whether author already exists. Names are kept sorted,
+ * so authors can be suggested by the beginning of the name.
+ */
+@Component
+@DependsOn("authorNameMigration")
+public class AuthorNameIndex {
+    private static final int INITIAL_CAPACITY = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final AuthorRepository authorRepository;
+    private final ConcurrentNavigableMap<String, Entry> authors = new ConcurrentSkipListMap<>();
+    // size() of skip list map walks all the entries
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReadWriteLock filterLock = new ReentrantReadWriteLock();
+    private volatile BloomFilter filter = new BloomFilter(INITIAL_CAPACITY, FALSE_POSITIVE_RATE);
+
+    /** Constructor of the class. */
+    public AuthorNameIndex(AuthorRepository authorRepository) {
+        this.authorRepository = authorRepository;
+    }
+
+    /** Function to fill index with all authors from database before the app accepts requests. */
+    @PostConstruct
+    public void load() {
+        for (AuthorNameView author : authorRepository.findAllNames()) {
+            put(author.getName(), author.getId());
+        }
+    }
+
+    /** Function to find id of the author by name.
+     *
+     * @param name name of the author
+     * @return id of the author or empty if author doesn't exist
+     */
+    public Optional<Long> findId(String name) {
+        return findAuthor(name).map(AuthorNameView::getId);
+    }
+
+    /** Function to find id and stored name of the author by name.
+     * Names rejected by bloom filter are answered without database,
+     * database is asked only if filter gives positive answer for name missing in index.
+     *
+     * @param name name of the author
+     * @return id and name of the author or empty if author doesn't exist
+     */
+    public Optional<AuthorNameView> findAuthor(String name) {
+        String normalizedName = Author.normalizeName(name);
+        if (normalizedName == null || !filter.mightContain(normalizedName)) {
+            return Optional.empty();
+        }
+
+        Entry entry = authors.get(normalizedName);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+
+        Optional<AuthorNameView> storedAuthor = authorRepository.findByNormalizedName(normalizedName);
+        storedAuthor.ifPresent(author -> put(author.getName(), author.getId()));
+        return storedAuthor;
+    }
+
+    /** Function to get authors which names start with prefix in alphabetical order.
+     *
+     * @param prefix beginning of the name, case and extra spaces are ignored
+     * @param limit max amount of authors
+     * @return ids and names of the authors
+     */
+    public List<AuthorSuggestionDto> suggest(String prefix, int limit) {
+        String normalizedPrefix = Author.normalizeName(prefix);
+        if (normalizedPrefix == null || normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+
+        return authors.subMap(normalizedPrefix, true, normalizedPrefix + Character.MAX_VALUE, false)
+                .values().stream()
+                .limit(limit)
+                .map(entry -> new AuthorSuggestionDto(entry.id(), entry.name()))
+                .toList();
+    }
+
+    /** Function to register saved author.
+     *
+     * @param name name of the author
+     * @param id id of the author
+     */
+    public void put(String name, Long id) {
+        String normalizedName = Author.normalizeName(name);
+        filterLock.readLock().lock();
+        try {
+            if (authors.put(normalizedName, new Entry(id, name.trim())) == null) {
+                size.incrementAndGet();
+            }
+            filter.put(normalizedName);
+        } finally {
+            filterLock.readLock().unlock();
+        }
+
+        if (size.get() > filter.getCapacity()) {
+            growFilter();
+        }
+    }
+
+    /** Function to forget deleted or renamed author.
+     * Name stays in bloom filter, which only costs one query on the next lookup.
+     *
+     * @param name name of the author
+     * @param id id of the author
+     */
+    public void remove(String name, Long id) {
+        String normalizedName = Author.normalizeName(name);
+        if (normalizedName == null) {
+            return;
+        }
+
+        Entry entry = authors.get(normalizedName);
+        if (entry != null && entry.id().equals(id) && authors.remove(normalizedName, entry)) {
+            size.decrementAndGet();
+        }
+    }
+
+    private void growFilter() {
+        filterLock.writeLock().lock();
+        try {
+            if (size.get() > filter.getCapacity()) {
+                BloomFilter grown = new BloomFilter(filter.getCapacity() * 2, FALSE_POSITIVE_RATE);
+                authors.keySet().forEach(grown::put);
+                filter = grown;
+            }
+        } finally {
+            filterLock.writeLock().unlock();
+        }
+    }
+
+    private record Entry(Long id, String name) implements AuthorNameView {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
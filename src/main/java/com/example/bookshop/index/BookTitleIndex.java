@@ -0,0 +1,186 @@
+package com.example.bookshop.index;
+
+import com.example.bookshop.dto.BookSearchPageDto;
+import com.example.bookshop.dto.BookTitleDto;
+import com.example.bookshop.repository.BookRepository;
+import com.example.bookshop.repository.BookTitleView;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/** Class to find books by substring of the title without scanning the table.
+ * Every title is split into trigrams, index keeps ids of the books for every trigram.
+ */
+@Component
+public class BookTitleIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_START = 2;
+    private static final int INSIDE_WORD = 3;
+
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::rank)
+            .thenComparingInt(Match::position)
+            .thenComparingInt(match -> match.title().length())
+            .thenComparingLong(Match::id);
+
+    private final BookRepository bookRepository;
+    private final Map<Long, Title> titles = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    /** Constructor of the class. */
+    public BookTitleIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /** Function to fill index with titles of all books before the app accepts requests. */
+    @PostConstruct
+    public void load() {
+        for (BookTitleView book : bookRepository.findAllTitles()) {
+            put(book.getId(), book.getTitle());
+        }
+    }
+
+    /** Function to register saved or updated book.
+     *
+     * @param id id of the book
+     * @param title title of the book
+     */
+    public synchronized void put(Long id, String title) {
+        if (id == null || title == null) {
+            return;
+        }
+
+        Title newTitle = new Title(title, normalize(title));
+        Title oldTitle = titles.put(id, newTitle);
+        Set<String> newGrams = grams(newTitle.normalized());
+
+        if (oldTitle != null) {
+            Set<String> staleGrams = grams(oldTitle.normalized());
+            staleGrams.removeAll(newGrams);
+            staleGrams.forEach(gram -> removePosting(gram, id));
+        }
+
+        newGrams.forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id));
+    }
+
+    /** Function to forget deleted book.
+     *
+     * @param id id of the book
+     */
+    public synchronized void remove(Long id) {
+        Title oldTitle = titles.remove(id);
+        if (oldTitle != null) {
+            grams(oldTitle.normalized()).forEach(gram -> removePosting(gram, id));
+        }
+    }
+
+    /** Function to find books with title containing the query.
+     * Exact titles go first, then titles starting with the query,
+     * then titles with a word starting with the query, then the rest.
+     *
+     * @param query substring of the title, at least three characters
+     * @param page number of the page starting from zero
+     * @param size max amount of books in the page
+     * @return page of found books with total amount of matches
+     */
+    public BookSearchPageDto search(String query, int page, int size) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.length() < GRAM_LENGTH) {
+            return new BookSearchPageDto(List.of(), 0);
+        }
+
+        List<Set<Long>> candidates = new ArrayList<>();
+        for (String gram : grams(normalizedQuery)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return new BookSearchPageDto(List.of(), 0);
+            }
+            candidates.add(ids);
+        }
+        candidates.sort(Comparator.comparingInt(Set::size));
+
+        // keeps only matches of the requested and previous pages, the worst one on top
+        int needed = (int) Math.min((long) (page + 1) * size, Integer.MAX_VALUE);
+        PriorityQueue<Match> best = new PriorityQueue<>(BEST_FIRST.reversed());
+        int total = 0;
+
+        for (Long id : candidates.get(0)) {
+            if (!containsInAll(candidates, id)) {
+                continue;
+            }
+            Title title = titles.get(id);
+            int position = title == null ? -1 : title.normalized().indexOf(normalizedQuery);
+            if (position < 0) {
+                continue;
+            }
+
+            total++;
+            Match match = new Match(id, title.original(), rank(title.normalized(), normalizedQuery, position), position);
+            if (best.size() < needed) {
+                best.add(match);
+            } else if (BEST_FIRST.compare(match, best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        List<Match> sorted = new ArrayList<>(best);
+        sorted.sort(BEST_FIRST);
+        List<BookTitleDto> books = sorted.stream()
+                .skip((long) page * size)
+                .map(match -> new BookTitleDto(match.id(), match.title()))
+                .toList();
+        return new BookSearchPageDto(books, total);
+    }
+
+    static String normalize(String value) {
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static boolean containsInAll(List<Set<Long>> candidates, Long id) {
+        for (int i = 1; i < candidates.size(); i++) {
+            if (!candidates.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int rank(String title, String query, int position) {
+        if (position == 0) {
+            return title.length() == query.length() ? EXACT : PREFIX;
+        }
+        return Character.isLetterOrDigit(title.charAt(position - 1)) ? INSIDE_WORD : WORD_START;
+    }
+
+    private void removePosting(String gram, Long id) {
+        postings.computeIfPresent(gram, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private record Title(String original, String normalized) {
+    }
+
+    private record Match(Long id, String title, int rank, int position) {
+    }
+}
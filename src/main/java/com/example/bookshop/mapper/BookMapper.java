@@ -4,7 +4,12 @@ import com.example.bookshop.dto.AuthorDto;
 import com.example.bookshop.dto.BookDto;
 import com.example.bookshop.dto.ReviewDto;
 import com.example.bookshop.model.Book;
+import com.example.bookshop.repository.BookAttributeView;
+import com.example.bookshop.repository.BookTitleView;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Component;
 
 /** Class to transform object from dto and vice versa. */
@@ -44,4 +49,36 @@ public class BookMapper {
 
         return bookDto;
     }
-}
\ No newline at end of file
+
+    /** Function to build DTOs from projections which were read by separate queries.
+     *
+     * @param books ids and titles of the books
+     * @param authors names of the authors by book id
+     * @param reviews texts of the reviews by book id
+     * @return dto objects in the same order as books
+     */
+    public List<BookDto> toDtos(List<? extends BookTitleView> books, List<BookAttributeView> authors,
+                                List<BookAttributeView> reviews) {
+        Map<Long, List<AuthorDto>> authorsByBook = new HashMap<>();
+        for (BookAttributeView author : authors) {
+            AuthorDto authorDto = new AuthorDto();
+            authorDto.setName(author.getAttributeValue());
+            authorsByBook.computeIfAbsent(author.getBookId(), id -> new ArrayList<>()).add(authorDto);
+        }
+
+        Map<Long, List<ReviewDto>> reviewsByBook = new HashMap<>();
+        for (BookAttributeView review : reviews) {
+            ReviewDto reviewDto = new ReviewDto();
+            reviewDto.setMessage(review.getAttributeValue());
+            reviewsByBook.computeIfAbsent(review.getBookId(), id -> new ArrayList<>()).add(reviewDto);
+        }
+
+        return books.stream().map(book -> {
+            BookDto bookDto = new BookDto();
+            bookDto.setTitle(book.getTitle());
+            bookDto.setAuthors(authorsByBook.getOrDefault(book.getId(), List.of()));
+            bookDto.setReviews(reviewsByBook.getOrDefault(book.getId(), List.of()));
+            return bookDto;
+        }).toList();
+    }
+}
@@ -1,28 +1,41 @@
 package com.example.bookshop.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /** Class to hold info about authors. **/
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author")
+// resolved authors are lazy references, fields of the proxy itself aren't written
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Schema(description = "Model of the author")
 public class Author {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_seq")
+    @SequenceGenerator(name = "author_seq", sequenceName = "author_seq", allocationSize = 50)
     @Schema(description = "Identifier of the author", example = "1")
     private Long id;
 
+    // not cached, inverse side isn't evicted when authors of the book change
     @ManyToMany(mappedBy = "authors", fetch = FetchType.EAGER)
     @JsonIgnoreProperties({"authors", "reviews"})
     @Schema(description = "List of the books of the author")
@@ -34,6 +47,29 @@ public class Author {
     @Schema(description = "Name of the author", example = "Joshua Bloch")
     private String name;
 
+    // unique constraint is added by AuthorNameMigration after duplicates of older versions are merged
+    @Column(name = "normalized_name")
+    @JsonIgnore
+    private String normalizedName;
+
+    /** Function to get form of the name which is used to find duplicates.
+     *
+     * @param name name of the author
+     * @return trimmed lower case name with single spaces between words
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateNormalizedName() {
+        normalizedName = normalizeName(name);
+    }
+
     public String getName() {
         return name;
     }
@@ -42,6 +78,14 @@ public class Author {
         this.name = name;
     }
 
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    public void setNormalizedName(String normalizedName) {
+        this.normalizedName = normalizedName;
+    }
+
     public List<Book> getBooks() {
         return books;
     }
@@ -60,15 +104,15 @@ public class Author {
 
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) {
+        // lazy reference is a subclass and has no state of its own, so id is read by getter
+        if (!(o instanceof Author author)) {
             return false;
         }
-        Author author = (Author) o;
-        return Objects.equals(id, author.id);
+        return Objects.equals(getId(), author.getId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(id);
+        return Objects.hashCode(getId());
     }
 }
\ No newline at end of file
@@ -1,21 +1,29 @@
 package com.example.bookshop.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.NamedAttributeNode;
 import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 /** Class that represents book. */
 @Entity
@@ -26,10 +34,13 @@ import java.util.List;
           @NamedAttributeNode("reviews")
         }
 )
+@Table(indexes = @Index(name = "idx_book_review_count", columnList = "review_count"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book")
 @Schema(description = "Model of the book")
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     @Schema(description = "Identifier of the book", example = "1")
     private Long id;
 
@@ -45,13 +56,22 @@ public class Book {
             joinColumns = @JoinColumn(name = "book_id"),
             inverseJoinColumns = @JoinColumn(name = "author_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book-authors")
     @Schema(description = "List of the authors of the book")
     private List<Author> authors;
 
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book-reviews")
     @Schema(description = "List of the reviews of the book")
     private List<Review> reviews;
 
+    // written only on insert and by the counter update, merge of stale book can't overwrite new reviews
+    @Column(name = "review_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Amount of the reviews of the book", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private long reviewCount;
+
     public List<Author> getAuthors() {
         return authors;
     }
@@ -83,4 +103,12 @@ public class Book {
     public void setReviews(List<Review> reviews) {
         this.reviews = reviews;
     }
-}
\ No newline at end of file
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.bookshop.repository;
+
+/** Projection with identifier and name of the author. */
+public interface AuthorNameView {
+    /** Function to get id of the author.
+     *
+     * @return id of the author
+     */
+    Long getId();
+
+    /** Function to get name of the author.
+     *
+     * @return name of the author
+     */
+    String getName();
+}
@@ -1,31 +1,65 @@
 package com.example.bookshop.repository;
 
 import com.example.bookshop.model.Author;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /** Class that represents database containing authors. **/
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
-    /** Function to find author bi name.
+    /** Function to find authors with names containing "name".
      *
-     * @param name - name of the author
-     * @return object of class Author
+     * @param name name of the author
+     * @return list of authors
      */
-    Author findByName(String name);
+    // not in query cache, authors created by native upsert don't invalidate cached results
+    List<Author> findByNameStartingWith(String name);
 
-    /** Function to check existence of object in database by name.
+    /** Function to find ids of all authors with specified normalized names by one query.
      *
-     * @param name name pf the author
-     * @return true if author exists, false otherwise
+     * @param normalizedNames normalized names of the authors
+     * @return ids and names of found authors
      */
-    boolean existsByName(String name);
+    @Query("SELECT author.id AS id, author.name AS name FROM Author author "
+            + "WHERE author.normalizedName IN :normalizedNames")
+    List<AuthorNameView> findIdsByNormalizedNameIn(@Param("normalizedNames") Collection<String> normalizedNames);
 
-    /** Function to find authors with names containing "name".
+    /** Function to find id and name of the author with specified normalized name.
+     *
+     * @param normalizedName normalized name of the author
+     * @return id and name of the author
+     */
+    @Query("SELECT author.id AS id, author.name AS name FROM Author author "
+            + "WHERE author.normalizedName = :normalizedName")
+    Optional<AuthorNameView> findByNormalizedName(@Param("normalizedName") String normalizedName);
+
+    /** Function to get id and stored name of the author with specified name,
+     * the author is created if it doesn't exist. Makes one round-trip to database, unique normalized
+     * name doesn't allow duplicates when the same author is saved concurrently.
      *
      * @param name name of the author
-     * @return list of authors
+     * @param normalizedName normalized name of the author
+     * @return id and name of the author
      */
-    List<Author> findByNameStartingWith(String name);
+    @Transactional
+    @Query(value = "SELECT id AS \"id\", name AS \"name\" FROM FINAL TABLE (MERGE INTO author target "
+            + "USING (VALUES (CAST(:name AS VARCHAR), CAST(:normalizedName AS VARCHAR))) "
+            + "source(name, normalized_name) ON target.normalized_name = source.normalized_name "
+            + "WHEN MATCHED THEN UPDATE SET normalized_name = source.normalized_name "
+            + "WHEN NOT MATCHED THEN INSERT (id, name, normalized_name) "
+            + "VALUES (NEXT VALUE FOR author_seq, source.name, source.normalized_name))", nativeQuery = true)
+    AuthorNameView upsertByName(@Param("name") String name, @Param("normalizedName") String normalizedName);
+
+    /** Function to get ids and names of all authors without loading their books.
+     *
+     * @return ids and names of all authors
+     */
+    @Query("SELECT author.id AS id, author.name AS name FROM Author author")
+    List<AuthorNameView> findAllNames();
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.bookshop.repository;
+
+/** Projection with one attribute of the book, like name of the author or text of the review. */
+public interface BookAttributeView {
+    /** Function to get id of the book.
+     *
+     * @return id of the book
+     */
+    Long getBookId();
+
+    /** Function to get value of the attribute.
+     *
+     * @return value of the attribute
+     */
+    String getAttributeValue();
+}
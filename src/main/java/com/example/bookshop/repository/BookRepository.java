@@ -1,23 +1,33 @@
 package com.example.bookshop.repository;
 
 import com.example.bookshop.model.Book;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /** Class that represents database containing books. */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookReviewCountRepository {
 
     /** Function that returns book with concrete title.
      *
      * @param title название книги
      * @return JSON форму объекта Book
      * */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Book findByTitle(String title);
 
     /** Function to find book by id.
@@ -28,20 +38,95 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     @EntityGraph(value = "Book", type = EntityGraph.EntityGraphType.LOAD)
     Optional<Book> findById(Long id);
 
-    /** Function with custom query to get books by author name.
+    /** Function to find book by id with read authors and reviews, so it can be cached and read without session.
+     * Entity graph isn't applied when book is taken from second-level cache, so collections are read explicitly.
+     *
+     * @param id id of the book
+     * @return object of Book class
+     */
+    @Transactional(readOnly = true)
+    default Optional<Book> findLoadedById(Long id) {
+        Optional<Book> book = findById(id);
+        book.ifPresent(found -> {
+            Hibernate.initialize(found.getAuthors());
+            Hibernate.initialize(found.getReviews());
+        });
+        return book;
+    }
+
+    /** Function to get page of books which ids are greater than specified cursor.
+     *
+     * @param id id of the last book of the previous page
+     * @param limit max amount of books in the page
+     * @return books ordered by id
+     */
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /** Function to get ids and titles of all books without loading authors and reviews.
+     *
+     * @return ids and titles of the books
+     */
+    @Query("SELECT book.id AS id, book.title AS title FROM Book book")
+    List<BookTitleView> findAllTitles();
+
+    /** Function to read all books row by row without loading them into memory at once.
+     * Books are not put into second-level cache, export would push out everything else.
+     *
+     * @return stream of books ordered by id, has to be consumed inside transaction
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT book FROM Book book ORDER BY book.id")
+    Stream<Book> streamAllOrderedById();
+
+    /** Function to get ids and titles of books by author name.
      *
      * @param authorName name of the author
-     * @return list of books with specified author
+     * @return ids and titles of the books with specified author
      */
-    @Query(value = "SELECT b.* FROM book b JOIN book_author ba ON b.id = ba.book_id "
-            + "JOIN author a ON ba.author_id = a.id WHERE a.name = :authorName", nativeQuery = true)
-    List<Book> findByAuthorName(@Param("authorName") String authorName);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT book.id AS id, book.title AS title FROM Book book JOIN book.authors author "
+            + "WHERE author.name = :authorName ORDER BY book.id")
+    List<BookTitleView> findTitlesByAuthorName(@Param("authorName") String authorName);
 
-    /** Function with custom query to get books with amount of reviews greater than reviewCount.
+    /** Function to get ids, titles and review counters of books with amount of reviews greater than reviewCount.
+     * Uses index on review counter instead of counting reviews. Result isn't put into Hibernate query cache,
+     * counter is changed past Hibernate and pages are cached by QueryResultCache instead.
      *
      * @param reviewCount amount of reviews
-     * @return list of books
+     * @param pageable page of the result
+     * @return ids and titles of the books, the most reviewed first
+     */
+    @Query("SELECT book.id AS id, book.title AS title, book.reviewCount AS reviewCount FROM Book book "
+            + "WHERE book.reviewCount > :reviewCount ORDER BY book.reviewCount DESC, book.id")
+    List<BookReviewCountView> findTitlesByReviewCount(@Param("reviewCount") Long reviewCount, Pageable pageable);
+
+    /** Function to get review counter of the book without loading the book.
+     *
+     * @param id id of the book
+     * @return amount of reviews or empty if book doesn't exist
+     */
+    @Query("SELECT book.reviewCount FROM Book book WHERE book.id = :id")
+    Optional<Long> findReviewCountById(@Param("id") Long id);
+
+    /** Function to get names of the authors of all specified books by one query.
+     *
+     * @param bookIds ids of the books
+     * @return pairs of book id and author name
+     */
+    @Query("SELECT book.id AS bookId, author.name AS attributeValue FROM Book book JOIN book.authors author "
+            + "WHERE book.id IN :bookIds ORDER BY author.id")
+    List<BookAttributeView> findAuthorNamesByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    /** Function to get texts of the reviews of all specified books by one query.
+     *
+     * @param bookIds ids of the books
+     * @return pairs of book id and review text
      */
-    @Query("SELECT book FROM Book book JOIN book.reviews review GROUP BY book HAVING COUNT(review) > :reviewCount")
-    List<Book> findByReviewCount(@Param("reviewCount") Long reviewCount);
+    @Query("SELECT review.book.id AS bookId, review.message AS attributeValue FROM Review review "
+            + "WHERE review.book.id IN :bookIds ORDER BY review.id")
+    List<BookAttributeView> findReviewMessagesByBookIds(@Param("bookIds") Collection<Long> bookIds);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.bookshop.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+
+/** Interface to change review counters of books without evicting other books from second-level cache. */
+public interface BookReviewCountRepository {
+
+    /** Function to change review counter of the book in database without reading it.
+     *
+     * @param id id of the book
+     * @param delta amount of added reviews, negative for removed ones
+     * @return amount of updated books
+     */
+    @Transactional
+    int adjustReviewCount(Long id, long delta);
+}
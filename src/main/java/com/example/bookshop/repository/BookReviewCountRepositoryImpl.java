@@ -0,0 +1,40 @@
+package com.example.bookshop.repository;
+
+import com.example.bookshop.model.Book;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Class to change review counter by plain SQL in the transaction of the caller.
+ * Bulk update through Hibernate evicts the whole book region and every cached query on books,
+ * so counter is updated past Hibernate and only the changed book is evicted.
+ */
+public class BookReviewCountRepositoryImpl implements BookReviewCountRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache cache;
+
+    /** Constructor of the class. */
+    public BookReviewCountRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = entityManagerFactory.getCache();
+    }
+
+    @Override
+    public int adjustReviewCount(Long id, long delta) {
+        int updated = jdbcTemplate.update("UPDATE book SET review_count = review_count + ? WHERE id = ?", delta, id);
+        cache.evict(Book.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // book read by other transaction before the commit might be put back with the old counter
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Book.class, id);
+                }
+            });
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bookshop.repository;
+
+/** Projection with identifier, title and amount of reviews of the book. */
+public interface BookReviewCountView extends BookTitleView {
+    /** Function to get amount of reviews of the book.
+     *
+     * @return value of the review counter
+     */
+    Long getReviewCount();
+}
@@ -0,0 +1,16 @@
+package com.example.bookshop.repository;
+
+/** Projection with identifier and title of the book. */
+public interface BookTitleView {
+    /** Function to get id of the book.
+     *
+     * @return id of the book
+     */
+    Long getId();
+
+    /** Function to get title of the book.
+     *
+     * @return title of the book
+     */
+    String getTitle();
+}
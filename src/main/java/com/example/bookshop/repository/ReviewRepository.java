@@ -1,8 +1,11 @@
 package com.example.bookshop.repository;
 
 import com.example.bookshop.model.Review;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 /** Class that represents database containing reviews. */
@@ -14,5 +17,6 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
      * @param bookId id of the book
      * @return reviews of the book
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Review> findByBookId(Long bookId);
-}
\ No newline at end of file
+}
@@ -6,9 +6,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import org.springframework.cache.Cache;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Async;
@@ -18,8 +18,18 @@ import org.springframework.stereotype.Service;
 @Service
 public class AsyncLogService {
     private static final String LOG_FILE_PATH = "app.log";
+    /** Regex comes from unauthenticated request, it can't backtrack on the log for longer. */
+    private static final Duration REGEX_TIME_LIMIT = Duration.ofMinutes(1);
+
+    private final LogSearchService logSearchService;
+
+    /** Constructor of the class. */
+    public AsyncLogService(LogSearchService logSearchService) {
+        this.logSearchService = logSearchService;
+    }
 
     /** Function to create log file with specified logs.
+     * Lines of the date are searched in the live log and in its rotated archives.
      *
      * @param taskId id of the task
      * @param date date of the logs
@@ -34,20 +44,15 @@ public class AsyncLogService {
             LocalDate logDate = LocalDate.parse(date, formatter);
 
             Path path = Paths.get(LOG_FILE_PATH);
-            List<String> logLines = Files.readAllLines(path);
             String formattedDate = logDate.format(formatter);
-            List<String> currentLogs = logLines.stream()
-                    .filter(line -> line.startsWith(formattedDate))
-                    .toList();
+            Path logFile = Files.createTempFile("logs-" + formattedDate, ".log");
+            logFile.toFile().deleteOnExit();
 
-            if (currentLogs.isEmpty()) {
+            if (logSearchService.extractDate(path, logDate, logFile) == 0) {
+                Files.deleteIfExists(logFile);
                 throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, "No logs for date: " + date);
             }
 
-            Path logFile = Files.createTempFile("logs-" + formattedDate, ".log");
-            Files.write(logFile, currentLogs);
-            logFile.toFile().deleteOnExit();
-
             LogObj task = new LogObj(taskId, "COMPLETED");
             task.setFilePath(logFile.toString());
             logsCache.put(taskId, task);
@@ -60,4 +65,36 @@ public class AsyncLogService {
             Thread.currentThread().interrupt();
         }
     }
+
+    /** Function to create log file with records which match the query.
+     *
+     * @param taskId id of the task
+     * @param query filters of the records
+     * @param logsCache cache where log tasks stored
+     */
+    @Async("taskExecutor")
+    public void queryLogs(Long taskId, LogQuery query, Cache logsCache) {
+        LogObj task;
+        try {
+            Path logFile = Files.createTempFile("logs-query", ".log");
+            logFile.toFile().deleteOnExit();
+
+            if (logSearchService.query(Paths.get(LOG_FILE_PATH), query.withTimeLimit(REGEX_TIME_LIMIT), logFile) == 0) {
+                Files.deleteIfExists(logFile);
+                task = new LogObj(taskId, "FAILED");
+                task.setErrorMessage("No logs match the query");
+            } else {
+                task = new LogObj(taskId, "COMPLETED");
+                task.setFilePath(logFile.toString());
+            }
+        } catch (IOException | LogQueryTimeoutException e) {
+            task = new LogObj(taskId, "FAILED");
+            task.setErrorMessage(e.getMessage());
+        } catch (RuntimeException | StackOverflowError e) {
+            // e.g. regex which backtracks too deep, task mustn't stay in progress forever
+            task = new LogObj(taskId, "FAILED");
+            task.setErrorMessage("Log query failed: " + e);
+        }
+        logsCache.put(taskId, task);
+    }
 }
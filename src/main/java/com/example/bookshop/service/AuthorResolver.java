@@ -0,0 +1,74 @@
+package com.example.bookshop.service;
+
+import com.example.bookshop.index.AuthorNameIndex;
+import com.example.bookshop.model.Author;
+import com.example.bookshop.repository.AuthorNameView;
+import com.example.bookshop.repository.AuthorRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.util.Set;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Class to find stored author by name instead of creating duplicate. */
+@Service
+public class AuthorResolver {
+
+    private final AuthorRepository authorRepository;
+    private final AuthorNameIndex authorNameIndex;
+    private final Validator validator;
+    private final TransactionTemplate upsertTransaction;
+
+    /** Constructor of the class. */
+    public AuthorResolver(AuthorRepository authorRepository, AuthorNameIndex authorNameIndex, Validator validator,
+                          PlatformTransactionManager transactionManager) {
+        this.authorRepository = authorRepository;
+        this.authorNameIndex = authorNameIndex;
+        this.validator = validator;
+        this.upsertTransaction = new TransactionTemplate(transactionManager);
+        this.upsertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Function to get stored author with the same name or save the given one.
+     * Known authors are found in the index and unknown ones cost one upsert,
+     * the author itself isn't loaded.
+     *
+     * @param author author from request
+     * @return stored author
+     */
+    public Author resolve(Author author) {
+        Set<ConstraintViolation<Author>> violations = validator.validate(author);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        AuthorNameView storedAuthor = authorNameIndex.findAuthor(author.getName())
+                .orElseGet(() -> upsert(author.getName()));
+        // reference is managed, so book can cascade persist to it, and isn't loaded until it is read
+        return authorRepository.getReferenceById(storedAuthor.getId());
+    }
+
+    /** Function to get id and name of the author with the name, creating the author if needed.
+     * Every attempt is committed in its own transaction, so unique violation of concurrent insert
+     * doesn't mark transaction of the caller for rollback, and the retry finds the committed author.
+     *
+     * @param name name of the author
+     * @return id and stored name of the author
+     */
+    public AuthorNameView upsert(String name) {
+        String normalizedName = Author.normalizeName(name);
+        AuthorNameView author;
+        try {
+            author = upsertTransaction.execute(status -> authorRepository.upsertByName(name, normalizedName));
+        } catch (DataIntegrityViolationException e) {
+            // the same author was inserted concurrently, now it is matched by the merge
+            author = upsertTransaction.execute(status -> authorRepository.upsertByName(name, normalizedName));
+        }
+        authorNameIndex.put(author.getName(), author.getId());
+        return author;
+    }
+}
@@ -1,15 +1,18 @@
 package com.example.bookshop.service;
 
+import com.example.bookshop.cache.CacheInvalidator;
+import com.example.bookshop.cache.EntityKey;
+import com.example.bookshop.cache.MissingEntityCache;
+import com.example.bookshop.dto.AuthorSuggestionDto;
 import com.example.bookshop.exception.ResourceNotFoundException;
+import com.example.bookshop.index.AuthorNameIndex;
 import com.example.bookshop.model.Author;
 import com.example.bookshop.model.Book;
 import com.example.bookshop.repository.AuthorRepository;
 import com.example.bookshop.repository.BookRepository;
 import java.util.ArrayList;
 import java.util.List;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -23,31 +26,72 @@ public class AuthorService {
     private final AuthorRepository authorRepository;
     private final BookService bookService;
     private final BookRepository bookRepository;
+    private final AuthorResolver authorResolver;
+    private final AuthorNameIndex authorNameIndex;
+    private final CacheInvalidator cacheInvalidator;
+    private final MissingEntityCache missingEntityCache;
 
     /** Constructor to set authorRepository variable. */
-    public AuthorService(AuthorRepository authorRepository, BookService bookService, BookRepository bookRepository) {
+    public AuthorService(AuthorRepository authorRepository, BookService bookService, BookRepository bookRepository,
+                         AuthorResolver authorResolver, AuthorNameIndex authorNameIndex,
+                         CacheInvalidator cacheInvalidator, MissingEntityCache missingEntityCache) {
         this.authorRepository = authorRepository;
         this.bookService = bookService;
         this.bookRepository = bookRepository;
+        this.authorResolver = authorResolver;
+        this.authorNameIndex = authorNameIndex;
+        this.cacheInvalidator = cacheInvalidator;
+        this.missingEntityCache = missingEntityCache;
     }
 
     /** Function that returns author with certain id.
+     * Author is cached by its id alone, so the cached value doesn't depend on the book
+     * it is requested through, see {@link #checkBookAuthor(Long, Long)}.
+     *
+     * @param id id of the author
+     * @return author
+     */
+    @Cacheable(value = "authors", key = "#id", sync = true)
+    public Author findById(Long id) {
+        EntityKey key = EntityKey.author(id);
+        if (missingEntityCache.isMissing(key)) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE, false);
+        }
+
+        return authorRepository.findById(id).orElseThrow(() -> {
+            missingEntityCache.markMissing(key);
+            return new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE, false);
+        });
+    }
+
+    /** Function to check that author with certain id is one of the authors of the book.
+     * It isn't cached, cached author would be returned for any book once it is in cache.
+     * Ids of books and authors which weren't found are remembered for a short time
+     * and rejected without database.
      *
      * @param id id of the author
      * @param bookId id of the book
-     * @return JSON форму объекта Author
-     * */
-    @Cacheable(value = "authors", key = "#id")
-    public Author findById(Long id, Long bookId) {
+     */
+    public void checkBookAuthor(Long id, Long bookId) {
+        EntityKey bookKey = EntityKey.book(bookId);
+        if (missingEntityCache.isMissing(bookKey)) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, BOOK_NOT_FOUND_MESSAGE, false);
+        }
+        if (missingEntityCache.isMissing(EntityKey.author(id))) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE, false);
+        }
 
-        Book book = bookRepository.findById(bookId).orElseThrow(
-                () -> new ResourceNotFoundException(HttpStatus.NOT_FOUND, BOOK_NOT_FOUND_MESSAGE));
+        Book book = bookRepository.findById(bookId).orElseThrow(() -> {
+            missingEntityCache.markMissing(bookKey);
+            return new ResourceNotFoundException(HttpStatus.NOT_FOUND, BOOK_NOT_FOUND_MESSAGE, false);
+        });
         List<Author> authors = book.getAuthors();
-        Author author = authorRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE));
-        if (authors.contains(author)) {
-            return author;
-        } else {
-            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE);
+        if (authors == null || authors.stream().noneMatch(author -> id.equals(author.getId()))) {
+            // author of another book exists and isn't remembered as missing
+            if (!authorRepository.existsById(id)) {
+                missingEntityCache.markMissing(EntityKey.author(id));
+            }
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE, false);
         }
     }
 
@@ -68,22 +112,27 @@ public class AuthorService {
         return authorRepository.findByNameStartingWith(name);
     }
 
+    /** Function to suggest authors by the beginning of the name without querying database.
+     *
+     * @param prefix beginning of the name
+     * @param limit max amount of authors
+     * @return ids and names of the authors
+     */
+    public List<AuthorSuggestionDto> suggest(String prefix, int limit) {
+        return authorNameIndex.suggest(prefix, limit);
+    }
+
     /** Function that save author in database.
      *
      * @param author объект класса Author
      * @return JSON форму объекта Author
      * */
-    @CacheEvict(value = "books", allEntries = true)
     public Author save(Author author, Long bookId) {
         Book book = bookRepository.findById(bookId).orElseThrow(
                 () -> new ResourceNotFoundException(HttpStatus.NOT_FOUND, BOOK_NOT_FOUND_MESSAGE));
 
-        List<Book> newBooks = new ArrayList<>();
-
-        if (authorRepository.existsByName(author.getName())) {
-            author = authorRepository.findByName(author.getName());
-            newBooks = author.getBooks();
-        }
+        author = authorResolver.resolve(author);
+        List<Book> newBooks = author.getBooks() != null ? author.getBooks() : new ArrayList<>();
 
         List<Author> authors = book.getAuthors();
         if (!authors.contains(author)) {
@@ -93,7 +142,10 @@ public class AuthorService {
             author.setBooks(newBooks);
         }
 
-        return authorRepository.save(author);
+        Author savedAuthor = authorRepository.save(author);
+        cacheInvalidator.invalidate("author.save", EntityKey.author(savedAuthor.getId()), EntityKey.book(bookId),
+                EntityKey.authorName(savedAuthor.getName()));
+        return savedAuthor;
     }
 
     /** Function that updates info about author with certain id.
@@ -102,24 +154,21 @@ public class AuthorService {
      * @param author объект класса Author
      * @return JSON форму объекта Author
      * */
-    @Caching(evict = {
-        @CacheEvict(value = "authors", key = "#id"),
-        @CacheEvict(value = "books", allEntries = true)
-    })
     public Author update(Long id, Author author) {
-        if (!authorRepository.existsById(id)) {
-            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE);
-        }
+        String oldName = authorRepository.findById(id)
+                .map(Author::getName)
+                .orElseThrow(() -> new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE));
 
         author.setId(id);
-        return authorRepository.save(author);
+        Author savedAuthor = authorRepository.save(author);
+        authorNameIndex.remove(oldName, id);
+        authorNameIndex.put(savedAuthor.getName(), id);
+        cacheInvalidator.invalidate("author.update", EntityKey.author(id),
+                EntityKey.authorName(oldName), EntityKey.authorName(savedAuthor.getName()));
+        return savedAuthor;
     }
 
     /** Function that deletes author with certain id. */
-    @Caching(evict = {
-        @CacheEvict(value = "authors", key = "#id"),
-        @CacheEvict(value = "books", allEntries = true)
-    })
     public void delete(Long id, Long bookId) {
 
         Book book = bookRepository.findById(bookId).orElseThrow(
@@ -137,6 +186,9 @@ public class AuthorService {
         books.remove(book);
         if (books.isEmpty()) {
             authorRepository.delete(author);
+            authorNameIndex.remove(author.getName(), author.getId());
+            cacheInvalidator.invalidate("author.delete", EntityKey.author(id), EntityKey.book(bookId),
+                    EntityKey.authorName(author.getName()));
         } else {
             author.setBooks(books);
             update(id, author);
@@ -0,0 +1,61 @@
+package com.example.bookshop.service;
+
+import com.example.bookshop.model.Book;
+import com.example.bookshop.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Class to export whole catalog without holding it in memory. */
+@Service
+public class BookExportService {
+
+    private static final int CLEAR_INTERVAL = 100;
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter bookWriter;
+
+    /** Constructor of the class. */
+    public BookExportService(BookRepository bookRepository, EntityManager entityManager,
+                             ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.bookWriter = objectMapper.writerFor(Book.class);
+    }
+
+    /** Function to write all books as newline-delimited JSON.
+     *
+     * @param outputStream stream where books are written
+     * @return amount of exported books
+     * @throws IOException if unable to write into stream
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream outputStream) throws IOException {
+        long count = 0;
+
+        try (Stream<Book> books = bookRepository.streamAllOrderedById()) {
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                Book book = iterator.next();
+                outputStream.write(bookWriter.writeValueAsBytes(book));
+                outputStream.write('\n');
+                entityManager.detach(book);
+
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    outputStream.flush();
+                }
+            }
+        }
+
+        outputStream.flush();
+        return count;
+    }
+}
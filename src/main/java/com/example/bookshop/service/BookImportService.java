@@ -0,0 +1,257 @@
+package com.example.bookshop.service;
+
+import com.example.bookshop.cache.CacheInvalidator;
+import com.example.bookshop.cache.EntityKey;
+import com.example.bookshop.cache.ValueRange;
+import com.example.bookshop.dto.BookImportResultDto;
+import com.example.bookshop.index.AuthorNameIndex;
+import com.example.bookshop.index.BookTitleIndex;
+import com.example.bookshop.model.Author;
+import com.example.bookshop.model.Book;
+import com.example.bookshop.model.Review;
+import com.example.bookshop.repository.AuthorNameView;
+import com.example.bookshop.repository.AuthorRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+import org.hibernate.exception.LockAcquisitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Class to import large amount of books with batched inserts. */
+@Service
+public class BookImportService {
+
+    static final String STATUS_CREATED = "CREATED";
+    static final String STATUS_INVALID = "INVALID";
+    static final String STATUS_FAILED = "FAILED";
+
+    static final String CONFLICT_MESSAGE = "Books conflict with stored data or have values database doesn't accept";
+    static final String BUSY_MESSAGE = "Database is busy, import the books again later";
+    static final String FAILURE_MESSAGE = "Books couldn't be saved";
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int FLUSH_INTERVAL = 50;
+
+    private final Logger logger = LoggerFactory.getLogger(BookImportService.class);
+
+    private final AuthorRepository authorRepository;
+    private final AuthorResolver authorResolver;
+    private final AuthorNameIndex authorNameIndex;
+    private final BookTitleIndex bookTitleIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final CacheInvalidator cacheInvalidator;
+
+    /** Constructor of the class. */
+    public BookImportService(AuthorRepository authorRepository, AuthorResolver authorResolver,
+                             AuthorNameIndex authorNameIndex, BookTitleIndex bookTitleIndex,
+                             EntityManager entityManager, TransactionTemplate transactionTemplate,
+                             Validator validator, CacheInvalidator cacheInvalidator) {
+        this.authorRepository = authorRepository;
+        this.authorResolver = authorResolver;
+        this.authorNameIndex = authorNameIndex;
+        this.bookTitleIndex = bookTitleIndex;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    /** Function to save list of books. Every chunk of books is saved in its own transaction,
+     * so one broken chunk doesn't roll back the whole import.
+     *
+     * @param books books to save
+     * @return result for every book in the same order as in request
+     */
+    public List<BookImportResultDto> importBooks(List<Book> books) {
+        BookImportResultDto[] results = new BookImportResultDto[books.size()];
+        List<Integer> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        for (int i = 0; i < books.size(); i++) {
+            Book book = books.get(i);
+            List<String> violations = validate(book);
+
+            if (!violations.isEmpty()) {
+                results[i] = new BookImportResultDto(i, book.getTitle(), STATUS_INVALID);
+                results[i].setErrorMessage(String.join("; ", violations));
+                continue;
+            }
+
+            chunk.add(i);
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(books, chunk, results);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(books, chunk, results);
+        }
+
+        return List.of(results);
+    }
+
+    /** Function to validate book with its authors, authors are saved without JPA validation. */
+    private List<String> validate(Book book) {
+        List<String> violations = new ArrayList<>();
+        validator.validate(book).forEach(violation -> violations.add(violation.getMessage()));
+
+        if (book.getAuthors() != null) {
+            for (Author author : book.getAuthors()) {
+                validator.validate(author).forEach(violation -> violations.add(violation.getMessage()));
+            }
+        }
+        return violations;
+    }
+
+    private void importChunk(List<Book> books, List<Integer> chunk, BookImportResultDto[] results) {
+        List<Book> chunkBooks = chunk.stream().map(books::get).toList();
+
+        // authors are replaced by not loaded references while persisting
+        List<EntityKey> authorNames = chunkBooks.stream()
+                .filter(book -> book.getAuthors() != null)
+                .flatMap(book -> book.getAuthors().stream())
+                .map(author -> EntityKey.authorName(author.getName()))
+                .distinct()
+                .toList();
+
+        try {
+            // authors are upserted before the chunk transaction, their unique violations can't roll it back
+            Map<String, Long> authorIds = resolveAuthorIds(chunkBooks);
+            transactionTemplate.executeWithoutResult(status -> persistBooks(chunkBooks, authorIds));
+            // new ids might be remembered as missing, cached authors and author filters list their books
+            long greatestReviewCount = chunkBooks.stream().mapToLong(Book::getReviewCount).max().orElse(0);
+            cacheInvalidator.invalidate("book.import", ValueRange.reviewCount(Long.MIN_VALUE, greatestReviewCount),
+                    Stream.of(
+                            chunkBooks.stream().map(book -> EntityKey.book(book.getId())),
+                            chunkBooks.stream()
+                                    .filter(book -> book.getAuthors() != null)
+                                    .flatMap(book -> book.getAuthors().stream())
+                                    .map(author -> EntityKey.author(author.getId()))
+                                    .distinct(),
+                            authorNames.stream())
+                    .flatMap(keys -> keys)
+                    .toArray(EntityKey[]::new));
+            for (int index : chunk) {
+                Book book = books.get(index);
+                bookTitleIndex.put(book.getId(), book.getTitle());
+                results[index] = new BookImportResultDto(index, book.getTitle(), STATUS_CREATED);
+                results[index].setId(book.getId());
+            }
+        } catch (RuntimeException e) {
+            // message of the exception can hold SQL, it is only logged
+            logger.warn("Import of chunk of {} books failed", chunk.size(), e);
+            String errorMessage = failureMessage(e);
+            for (int index : chunk) {
+                results[index] = new BookImportResultDto(index, books.get(index).getTitle(), STATUS_FAILED);
+                results[index].setErrorMessage(errorMessage);
+            }
+        }
+    }
+
+    /** Function to get message of failed chunk which can be shown to the client.
+     *
+     * @param e exception which rolled back the chunk
+     * @return stable message of the kind of failure
+     */
+    static String failureMessage(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException
+                    || cause instanceof DataException) {
+                return CONFLICT_MESSAGE;
+            }
+            if (cause instanceof TransientDataAccessException || cause instanceof LockAcquisitionException
+                    || cause instanceof LockTimeoutException || cause instanceof QueryTimeoutException) {
+                return BUSY_MESSAGE;
+            }
+        }
+        return FAILURE_MESSAGE;
+    }
+
+    private void persistBooks(List<Book> books, Map<String, Long> authorIds) {
+        int count = 0;
+        for (Book book : books) {
+            if (book.getAuthors() != null) {
+                List<Author> authors = new ArrayList<>();
+                for (Long authorId : book.getAuthors().stream()
+                        .map(author -> authorIds.get(Author.normalizeName(author.getName())))
+                        .collect(Collectors.toCollection(LinkedHashSet::new))) {
+                    authors.add(entityManager.getReference(Author.class, authorId));
+                }
+                book.setAuthors(authors);
+            }
+
+            if (book.getReviews() != null) {
+                for (Review review : book.getReviews()) {
+                    review.setBook(book);
+                }
+                book.setReviewCount(book.getReviews().size());
+            }
+
+            entityManager.persist(book);
+
+            if (++count % FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /** Function to find ids of all authors of the books and create missing authors.
+     * Names known by the index are resolved in memory, the rest is found by one query
+     * and missing authors are upserted, so parallel imports don't create duplicates.
+     * Every upsert is committed at once, authors of the chunk which fails later stay
+     * and are found by the next import.
+     *
+     * @return ids of the authors by normalized names
+     */
+    private Map<String, Long> resolveAuthorIds(List<Book> books) {
+        Map<String, String> names = new LinkedHashMap<>();
+        books.stream()
+                .filter(book -> book.getAuthors() != null)
+                .flatMap(book -> book.getAuthors().stream())
+                .map(Author::getName)
+                .forEach(name -> names.putIfAbsent(Author.normalizeName(name), name));
+
+        Map<String, Long> authorIds = new HashMap<>();
+        Set<String> unknownNames = new LinkedHashSet<>();
+        names.forEach((normalizedName, name) -> authorNameIndex.findId(name).ifPresentOrElse(
+                id -> authorIds.put(normalizedName, id),
+                () -> unknownNames.add(normalizedName)));
+
+        if (!unknownNames.isEmpty()) {
+            for (AuthorNameView author : authorRepository.findIdsByNormalizedNameIn(unknownNames)) {
+                authorIds.putIfAbsent(Author.normalizeName(author.getName()), author.getId());
+            }
+        }
+
+        for (String normalizedName : unknownNames) {
+            if (!authorIds.containsKey(normalizedName)) {
+                authorIds.put(normalizedName, authorResolver.upsert(names.get(normalizedName)).getId());
+            }
+        }
+
+        return authorIds;
+    }
+}
@@ -1,16 +1,32 @@
 package com.example.bookshop.service;
 
+import com.example.bookshop.cache.CacheInvalidator;
+import com.example.bookshop.cache.EntityKey;
+import com.example.bookshop.cache.MissingEntityCache;
+import com.example.bookshop.cache.QueryResult;
+import com.example.bookshop.cache.QueryResultCache;
+import com.example.bookshop.cache.ValueRange;
+import com.example.bookshop.dto.AuthorDto;
+import com.example.bookshop.dto.BookDto;
+import com.example.bookshop.dto.BookPageDto;
+import com.example.bookshop.dto.BookSearchPageDto;
 import com.example.bookshop.exception.ResourceNotFoundException;
+import com.example.bookshop.index.BookTitleIndex;
+import com.example.bookshop.mapper.BookMapper;
 import com.example.bookshop.model.Author;
 import com.example.bookshop.model.Book;
 import com.example.bookshop.model.Review;
-import com.example.bookshop.repository.AuthorRepository;
 import com.example.bookshop.repository.BookRepository;
+import com.example.bookshop.repository.BookReviewCountView;
+import com.example.bookshop.repository.BookTitleView;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import org.springframework.cache.annotation.CacheEvict;
+import java.util.Set;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -21,16 +37,28 @@ public class BookService {
     private static final String BOOK_NOT_FOUND_MESSAGE = "Book not found";
 
     private final BookRepository bookRepository;
-    private final AuthorRepository authorRepository;
+    private final AuthorResolver authorResolver;
+    private final BookTitleIndex bookTitleIndex;
+    private final BookMapper bookMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final MissingEntityCache missingEntityCache;
+    private final QueryResultCache queryResultCache;
 
     /**
      * Constructor to set bookRepository variable.
      *
      * @param bookRepository объект класса BookRepository
      * */
-    public BookService(BookRepository bookRepository, AuthorRepository authorRepository) {
+    public BookService(BookRepository bookRepository, AuthorResolver authorResolver,
+                       BookTitleIndex bookTitleIndex, BookMapper bookMapper, CacheInvalidator cacheInvalidator,
+                       MissingEntityCache missingEntityCache, QueryResultCache queryResultCache) {
         this.bookRepository = bookRepository;
-        this.authorRepository = authorRepository;
+        this.authorResolver = authorResolver;
+        this.bookTitleIndex = bookTitleIndex;
+        this.bookMapper = bookMapper;
+        this.cacheInvalidator = cacheInvalidator;
+        this.missingEntityCache = missingEntityCache;
+        this.queryResultCache = queryResultCache;
     }
 
     /** Function that returns books which contains substring "title".
@@ -42,6 +70,17 @@ public class BookService {
         return bookRepository.findByTitle(title);
     }
 
+    /** Function to find books with title containing the query.
+     *
+     * @param query substring of the title
+     * @param page number of the page starting from zero
+     * @param size max amount of books in the page
+     * @return page of found books, the best matches first
+     */
+    public BookSearchPageDto searchByTitle(String query, int page, int size) {
+        return bookTitleIndex.search(query, page, size);
+    }
+
     /** Function to get all books from database.
      *
      * @return all books in database
@@ -50,33 +89,113 @@ public class BookService {
         return bookRepository.findAll();
     }
 
+    /** Function to get page of books placed after the cursor.
+     *
+     * @param after id of the last book of the previous page
+     * @param limit max amount of books in the page
+     * @return page of books with cursor for the next page
+     */
+    public BookPageDto findBooksAfter(Long after, int limit) {
+        List<Book> books = bookRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+        Long nextCursor = books.size() == limit ? books.get(books.size() - 1).getId() : null;
+        return new BookPageDto(books, nextCursor);
+    }
+
     /** Function that returns book with certain id.
+     * Ids which weren't found are remembered for a short time and rejected without database.
      *
      * @param id идентификатор книги в базе данных
      * @return JSON форму объекта Book
      * */
-    @Cacheable("books")
+    @Cacheable(value = "books", sync = true)
     public Book findById(Long id) {
-        return bookRepository.findById(id).orElseThrow(
-                () -> new ResourceNotFoundException(HttpStatus.NOT_FOUND, BOOK_NOT_FOUND_MESSAGE));
+        EntityKey key = EntityKey.book(id);
+        if (missingEntityCache.isMissing(key)) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, BOOK_NOT_FOUND_MESSAGE, false);
+        }
+
+        return bookRepository.findLoadedById(id).orElseThrow(() -> {
+            missingEntityCache.markMissing(key);
+            return new ResourceNotFoundException(HttpStatus.NOT_FOUND, BOOK_NOT_FOUND_MESSAGE, false);
+        });
     }
 
     /** Function that returns books with specified author.
+     * Result is cached until books in it or authors with the name are changed.
      *
      * @param authorName name of the author
      * @return list of books with specified author
      */
-    public List<Book> findByAuthorName(String authorName) {
-        return bookRepository.findByAuthorName(authorName);
+    public List<BookDto> findByAuthorName(String authorName) {
+        if (authorName == null) {
+            return List.of();
+        }
+
+        return queryResultCache.get(QueryResultCache.BOOKS_BY_AUTHOR, authorName, () -> {
+            List<BookTitleView> books = bookRepository.findTitlesByAuthorName(authorName);
+            List<BookDto> bookDtos = toDtos(books);
+            Set<EntityKey> entities = getEntities(books, bookDtos);
+            entities.add(EntityKey.authorName(authorName));
+            return new QueryResult<>(bookDtos, entities, null);
+        });
     }
 
     /** Function to get books with amount of reviews greater than reviewCount.
+     * Page is cached until books in it are changed or review counter of some book
+     * changes inside the range of counters the page covers.
      *
      * @param reviewCount amount of reviews
-     * @return list of books
+     * @param page number of the page starting from zero
+     * @param size max amount of books in the page
+     * @return list of books, the most reviewed first
      */
-    public List<Book> findByReviewCount(Long reviewCount) {
-        return bookRepository.findByReviewCount(reviewCount);
+    public List<BookDto> findByReviewCount(Long reviewCount, int page, int size) {
+        ReviewCountPage key = new ReviewCountPage(reviewCount, page, size);
+        return queryResultCache.get(QueryResultCache.BOOKS_BY_REVIEW_COUNT, key, () -> {
+            List<BookReviewCountView> books = bookRepository.findTitlesByReviewCount(
+                    reviewCount, PageRequest.of(page, size));
+            List<BookDto> bookDtos = toDtos(books);
+            return new QueryResult<>(bookDtos, getEntities(books, bookDtos), getCoveredCounters(key, books));
+        });
+    }
+
+    /** Function to get counters which changes can change the page.
+     * Full page depends on counters between its last and first book, the last page depends
+     * on all counters below its first book, because books entering the filter are added to its end.
+     */
+    private static ValueRange getCoveredCounters(ReviewCountPage page, List<BookReviewCountView> books) {
+        long threshold = page.reviewCount() + 1;
+        if (books.isEmpty()) {
+            return ValueRange.reviewCount(threshold, Long.MAX_VALUE);
+        }
+
+        long greatest = books.get(0).getReviewCount();
+        long least = books.size() == page.size() ? books.get(books.size() - 1).getReviewCount() : threshold;
+        return ValueRange.reviewCount(least, greatest);
+    }
+
+    private static Set<EntityKey> getEntities(List<? extends BookTitleView> books, List<BookDto> bookDtos) {
+        Set<EntityKey> entities = new HashSet<>();
+        books.forEach(book -> entities.add(EntityKey.book(book.getId())));
+        for (BookDto bookDto : bookDtos) {
+            if (bookDto.getAuthors() != null) {
+                for (AuthorDto author : bookDto.getAuthors()) {
+                    entities.add(EntityKey.authorName(author.getName()));
+                }
+            }
+        }
+        return entities;
+    }
+
+    /** Function to load authors and reviews of all found books by two queries instead of two per book. */
+    private List<BookDto> toDtos(List<? extends BookTitleView> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> bookIds = books.stream().map(BookTitleView::getId).toList();
+        return bookMapper.toDtos(books, bookRepository.findAuthorNamesByBookIds(bookIds),
+                bookRepository.findReviewMessagesByBookIds(bookIds));
     }
 
     /** Function that saves book in database.
@@ -89,13 +208,7 @@ public class BookService {
             List<Author> savedAuthors = new ArrayList<>();
 
             for (Author author : book.getAuthors()) {
-
-                if (authorRepository.existsByName(author.getName())) {
-                    Author existingAuthor = authorRepository.findByName(author.getName());
-                    savedAuthors.add(existingAuthor);
-                } else {
-                    savedAuthors.add(authorRepository.save(author));
-                }
+                savedAuthors.add(authorResolver.resolve(author));
             }
 
             book.setAuthors(savedAuthors);
@@ -105,9 +218,23 @@ public class BookService {
             for (Review review : book.getReviews()) {
                 review.setBook(book);
             }
+            book.setReviewCount(book.getReviews().size());
         }
 
-        return bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
+        bookTitleIndex.put(savedBook.getId(), savedBook.getTitle());
+        // new id might be remembered as missing, cached authors and author filters list their books
+        List<EntityKey> changedEntities = new ArrayList<>();
+        changedEntities.add(EntityKey.book(savedBook.getId()));
+        if (savedBook.getAuthors() != null) {
+            for (Author author : savedBook.getAuthors()) {
+                changedEntities.add(EntityKey.author(author.getId()));
+                changedEntities.add(EntityKey.authorName(author.getName()));
+            }
+        }
+        cacheInvalidator.invalidate("book.save", ValueRange.reviewCount(Long.MIN_VALUE, savedBook.getReviewCount()),
+                changedEntities.toArray(EntityKey[]::new));
+        return savedBook;
     }
 
     /** Function that updates info about book.
@@ -118,13 +245,20 @@ public class BookService {
      * */
     @CachePut(value = "books", key = "#id")
     public Book update(Long id, Book book) {
-        Book existsBook = bookRepository.findById(id).orElseThrow(
+        // saved book is cached, so it gets collections which were read
+        Book existsBook = bookRepository.findLoadedById(id).orElseThrow(
                 () -> new ResourceNotFoundException(HttpStatus.NOT_FOUND, BOOK_NOT_FOUND_MESSAGE));
         book.setAuthors(existsBook.getAuthors());
         book.setReviews(existsBook.getReviews());
+        book.setReviewCount(existsBook.getReviewCount());
 
         book.setId(id);
-        return bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
+        // counter isn't written by save, reviews created since the read are only in database
+        bookRepository.findReviewCountById(id).ifPresent(savedBook::setReviewCount);
+        bookTitleIndex.put(id, savedBook.getTitle());
+        cacheInvalidator.invalidate("book.update", EntityKey.book(id));
+        return savedBook;
     }
 
     /**
@@ -132,8 +266,15 @@ public class BookService {
      *
      * @param id идентификатор объекта в базе данных
      * */
-    @CacheEvict(value = {"books", "authors", "reviews"}, allEntries = true)
     public void delete(Long id) {
+        Long reviewCount = bookRepository.findReviewCountById(id).orElse(null);
         bookRepository.deleteById(id);
+        bookTitleIndex.remove(id);
+        cacheInvalidator.invalidate("book.delete",
+                reviewCount == null ? null : ValueRange.reviewCount(Long.MIN_VALUE, reviewCount), EntityKey.book(id));
+    }
+
+    /** Class of key of cached page of books filtered by review counter. */
+    private record ReviewCountPage(Long reviewCount, int page, int size) {
     }
 }
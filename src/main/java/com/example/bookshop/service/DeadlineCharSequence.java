@@ -0,0 +1,57 @@
+package com.example.bookshop.service;
+
+/** Class of text which stops regex matching when the deadline of the query passes or its thread is interrupted.
+ * Matcher reads text only by charAt, so regex which backtracks exponentially can't hold scanning threads.
+ */
+final class DeadlineCharSequence implements CharSequence {
+
+    /** Clock is read once per this amount of reads, nanoTime is slower than reading a char. */
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final CharSequence text;
+    private final Long deadline;
+    private int reads;
+
+    /** Constructor of the class.
+     *
+     * @param text text to match
+     * @param deadline value of System.nanoTime when matching fails or null if time isn't limited
+     */
+    DeadlineCharSequence(CharSequence text, Long deadline) {
+        this.text = text;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (++reads == CHECK_INTERVAL) {
+            reads = 0;
+            check();
+        }
+        return text.charAt(index);
+    }
+
+    private void check() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new LogQueryTimeoutException("Log query was cancelled");
+        }
+        if (deadline != null && System.nanoTime() - deadline > 0) {
+            throw new LogQueryTimeoutException("Regex took too long to match the log, try more specific regex");
+        }
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new DeadlineCharSequence(text.subSequence(start, end), deadline);
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.bookshop.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/** Class to find files which logback rotated out of the live log, e.g. app.log.2025-03-19.0.gz.
+ * Only time of the first line of every archive is read. Archive ends before the first line of the next
+ * archive and not later than the date in its name. Times are saved next to the log file,
+ * so restart doesn't decompress archives again.
+ */
+@Component
+public class LogArchiveCatalog {
+
+    static final String GZIP_SUFFIX = ".gz";
+    static final String CATALOG_SUFFIX = ".archives";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String NO_TIME = "-";
+    /** Date of the lines and number of the archive of the date, e.g. .2025-03-19.0.gz. */
+    private static final Pattern ARCHIVE_DATE = Pattern.compile("\\.(\\d{4}-\\d{2}-\\d{2})\\.\\d+(\\.gz)?$");
+
+    private final Logger logger = LoggerFactory.getLogger(LogArchiveCatalog.class);
+    private final Map<Path, Map<String, ArchiveStart>> catalogs = new HashMap<>();
+
+    /** Function to get archives of the log which might have lines of the date.
+     *
+     * @param log live log file, archives are searched next to it
+     * @param date date of the lines
+     * @return archives from the oldest one
+     * @throws IOException if unable to list or read archives
+     */
+    public List<LogArchive> findArchives(Path log, LocalDate date) throws IOException {
+        return findArchives(log, date.atStartOfDay(), date.atTime(LocalTime.MAX));
+    }
+
+    /** Function to get archives of the log which might have lines of the time range.
+     *
+     * @param log live log file, archives are searched next to it
+     * @param from time of the earliest line or null if range has no beginning
+     * @param to time of the latest line or null if range has no end
+     * @return archives from the oldest one
+     * @throws IOException if unable to list or read archives
+     */
+    public synchronized List<LogArchive> findArchives(Path log, LocalDateTime from, LocalDateTime to)
+            throws IOException {
+        Path key = log.toAbsolutePath().normalize();
+        String prefix = key.getFileName() + ".";
+        List<Path> files;
+        try (Stream<Path> siblings = Files.list(key.getParent())) {
+            files = siblings
+                    .filter(file -> file.getFileName().toString().startsWith(prefix))
+                    .filter(file -> !file.getFileName().toString().endsWith(LogOffsetIndex.INDEX_SUFFIX)
+                            && !file.getFileName().toString().endsWith(CATALOG_SUFFIX)
+                            && !file.getFileName().toString().endsWith(".tmp"))
+                    .filter(Files::isRegularFile)
+                    .toList();
+        }
+
+        Map<String, ArchiveStart> catalog = catalogs.get(key);
+        if (catalog == null) {
+            catalog = load(catalogFile(key));
+            catalogs.put(key, catalog);
+        }
+        Set<String> names = files.stream().map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+        boolean changed = catalog.keySet().retainAll(names);
+
+        List<LogArchive> archives = new ArrayList<>();
+        for (Path file : files) {
+            long size = Files.size(file);
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            ArchiveStart start = catalog.get(file.getFileName().toString());
+            if (start == null || start.size() != size || start.lastModified() != lastModified) {
+                start = new ArchiveStart(size, lastModified, readFirst(file));
+                catalog.put(file.getFileName().toString(), start);
+                changed = true;
+            }
+            if (start.first() != null) {
+                archives.add(new LogArchive(file, size, lastModified, start.first(), lastOfDate(file)));
+            }
+        }
+        if (changed) {
+            save(catalogFile(key), catalog);
+        }
+
+        archives.sort(Comparator.comparing(LogArchive::first)
+                .thenComparing(archive -> archive.path().getFileName().toString()));
+        List<LogArchive> result = new ArrayList<>();
+        for (int i = 0; i < archives.size(); i++) {
+            LogArchive archive = archives.get(i);
+            // lines are written in time order, so archive ends where the next one starts
+            if (i + 1 < archives.size()) {
+                LocalDateTime next = archives.get(i + 1).first();
+                if (archive.last() == null || next.isBefore(archive.last())) {
+                    archive = new LogArchive(archive.path(), archive.size(), archive.lastModified(),
+                            archive.first(), next);
+                }
+            }
+            if (archive.mayContain(from, to)) {
+                result.add(archive);
+            }
+        }
+        return result;
+    }
+
+    /** Function to read time of the first line with timestamp, the rest of the archive isn't read. */
+    private static LocalDateTime readFirst(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(open(file), StandardCharsets.ISO_8859_1), BUFFER_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LocalDateTime timestamp = LogLines.timestamp(line);
+                if (timestamp != null) {
+                    return timestamp;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Function to get the end of the date in the name of the archive or null if name has no date. */
+    private static LocalDateTime lastOfDate(Path file) {
+        Matcher matcher = ARCHIVE_DATE.matcher(file.getFileName().toString());
+        if (!matcher.find()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(matcher.group(1)).atTime(LocalTime.MAX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Function to open archive for reading, compressed archives are decompressed on the fly.
+     *
+     * @param file archive
+     * @return stream of the log lines
+     * @throws IOException if unable to open the file
+     */
+    static InputStream open(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        return file.getFileName().toString().endsWith(GZIP_SUFFIX) ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    private static Path catalogFile(Path log) {
+        return log.resolveSibling(log.getFileName() + CATALOG_SUFFIX);
+    }
+
+    /** Function to read saved catalog. Every line holds size, time of modification,
+     * time of the first line and name of the archive.
+     */
+    private Map<String, ArchiveStart> load(Path file) {
+        Map<String, ArchiveStart> catalog = new HashMap<>();
+        if (!Files.isReadable(file)) {
+            return catalog;
+        }
+
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split(" ", 4);
+                LocalDateTime first = NO_TIME.equals(fields[2]) ? null : LocalDateTime.parse(fields[2]);
+                catalog.put(fields[3], new ArchiveStart(Long.parseLong(fields[0]), Long.parseLong(fields[1]), first));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Log archive catalog {} can't be read, archives are read again", file, e);
+            catalog.clear();
+        }
+        return catalog;
+    }
+
+    private void save(Path file, Map<String, ArchiveStart> catalog) {
+        List<String> lines = new ArrayList<>(catalog.size());
+        catalog.forEach((name, start) -> lines.add(start.size() + " " + start.lastModified() + " "
+                + (start.first() == null ? NO_TIME : start.first().toString()) + " " + name));
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // catalog stays in memory, only restart has to read archives again
+            logger.warn("Log archive catalog {} can't be saved", file, e);
+            if (temp != null) {
+                temp.toFile().delete();
+            }
+        }
+    }
+
+    /** Class of saved state of archive, it is valid while size and time of modification are the same. */
+    private record ArchiveStart(long size, long lastModified, LocalDateTime first) {
+    }
+
+    /** Class of rotated log file.
+     *
+     * @param path path of the file
+     * @param size size of the file when it was read
+     * @param lastModified time of modification when file was read
+     * @param first time of the first line
+     * @param last time no line of the file is after or null if it isn't known
+     */
+    public record LogArchive(Path path, long size, long lastModified, LocalDateTime first, LocalDateTime last) {
+
+        boolean mayContain(LocalDateTime from, LocalDateTime to) {
+            return (to == null || !first.isAfter(to)) && (from == null || last == null || !last.isBefore(from));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.bookshop.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/** Class to copy lines of the log from one file to another. Parts of the live log found by offset index
+ * are copied by channel transfer without reading them, archives are read as stream of lines.
+ */
+@Component
+public class LogExtractor {
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /** Function to copy lines of the date from stream of the log, e.g. decompressed archive.
+     * Lines without timestamp are copied with the line before them. Reading stops at the first
+     * line after the date, because lines are written in time order.
+     *
+     * @param in stream of the log, it is closed
+     * @param date date of the lines
+     * @param target file to write, it is created or truncated
+     * @return amount of copied bytes
+     * @throws IOException if unable to read stream or write target
+     */
+    public long extract(InputStream in, LocalDate date, Path target) throws IOException {
+        String prefix = date.format(LogLines.DATE_FORMATTER);
+        // ISO-8859-1 maps every byte to one char, so lines are written back unchanged
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.ISO_8859_1),
+                STREAM_BUFFER_SIZE);
+             BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.ISO_8859_1)) {
+            long copied = 0;
+            boolean copying = false;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(prefix)) {
+                    copying = true;
+                } else if (copying || !line.isEmpty() && Character.isDigit(line.charAt(0))) {
+                    LocalDateTime timestamp = LogLines.timestamp(line);
+                    if (timestamp != null) {
+                        if (timestamp.toLocalDate().isAfter(date)) {
+                            break;
+                        }
+                        copying = false;
+                    }
+                }
+
+                if (copying) {
+                    writer.write(line);
+                    writer.write('\n');
+                    copied += line.length() + 1;
+                }
+            }
+            return copied;
+        }
+    }
+
+    /** Function to copy parts of the file one after another.
+     *
+     * @param source file to read
+     * @param ranges parts of the file to copy
+     * @param target file to write, it is created or truncated
+     * @return amount of copied bytes
+     * @throws IOException if unable to read source or write target
+     */
+    public long copy(Path source, List<LogRange> ranges, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long copied = 0;
+            for (LogRange range : ranges) {
+                copied += transfer(in, range.start(), range.end(), out);
+            }
+            return copied;
+        }
+    }
+
+    private static long transfer(FileChannel in, long start, long end, FileChannel out) throws IOException {
+        long position = start;
+        while (position < end) {
+            long transferred = in.transferTo(position, end - position, out);
+            if (transferred <= 0) {
+                throw new IOException("Log file was truncated while reading");
+            }
+            position += transferred;
+        }
+        return end - start;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.bookshop.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/** Class with helpers to read lines of the app log, which look like dd-MM-yyyy HH:mm:ss - LEVEL: message. */
+final class LogLines {
+
+    static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+    static final int TIMESTAMP_LENGTH = 19;
+    /** Levels from the least important one. */
+    static final List<String> LEVELS = List.of("TRACE", "DEBUG", "INFO", "WARN", "ERROR");
+
+    private static final String LEVEL_PREFIX = " - ";
+    private static final int LEVEL_START = TIMESTAMP_LENGTH + LEVEL_PREFIX.length();
+    private static final int MAX_LEVEL_LENGTH = 5;
+
+    private LogLines() {
+    }
+
+    /** Function to read time of the line.
+     *
+     * @param line line of the log
+     * @return time of the line or null if line has no timestamp, e.g. line of stack trace
+     */
+    static LocalDateTime timestamp(String line) {
+        if (line.length() < TIMESTAMP_LENGTH || line.charAt(2) != '-' || line.charAt(5) != '-'
+                || line.charAt(13) != ':' || line.charAt(16) != ':') {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(line.substring(0, TIMESTAMP_LENGTH), TIMESTAMP_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Function to read level of the line.
+     *
+     * @param line line of the log with timestamp
+     * @return level or null if line has no level, e.g. it was written before levels were logged
+     */
+    static String level(String line) {
+        int end = line.indexOf(':', LEVEL_START);
+        if (end < 0 || end - LEVEL_START > MAX_LEVEL_LENGTH || !line.startsWith(LEVEL_PREFIX, TIMESTAMP_LENGTH)) {
+            return null;
+        }
+        String level = line.substring(LEVEL_START, end);
+        return LEVELS.contains(level) ? level : null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.bookshop.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.springframework.stereotype.Component;
+
+/** Class to merge several logs into one file in time order.
+ * Every log is already ordered, so only the next record of every log is kept in memory.
+ */
+@Component
+public class LogMerger {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Function to merge logs. Record is line with timestamp together with following lines
+     * without it, records with equal time keep the order of the logs in the list.
+     *
+     * @param parts ordered logs, from the oldest source
+     * @param target file to write, it is created or truncated
+     * @return amount of written bytes
+     * @throws IOException if unable to read logs or write target
+     */
+    public long merge(List<Path> parts, Path target) throws IOException {
+        PriorityQueue<PartReader> queue = new PriorityQueue<>(Comparator
+                .comparing((PartReader reader) -> reader.time)
+                .thenComparingInt(reader -> reader.order));
+        long written = 0;
+
+        List<PartReader> readers = new ArrayList<>(parts.size());
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.ISO_8859_1)) {
+            for (int i = 0; i < parts.size(); i++) {
+                PartReader reader = new PartReader(parts.get(i), i);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                PartReader reader = queue.poll();
+                for (String line : reader.record) {
+                    writer.write(line);
+                    writer.write('\n');
+                    written += line.length() + 1;
+                }
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (PartReader reader : readers) {
+                reader.close();
+            }
+        }
+        return written;
+    }
+
+    /** Class to read one log record by record. */
+    private static final class PartReader {
+        private final BufferedReader reader;
+        private final int order;
+        private final List<String> record = new ArrayList<>();
+        private String next;
+        private LocalDateTime time;
+
+        private PartReader(Path part, int order) throws IOException {
+            this.reader = Files.newBufferedReader(part, StandardCharsets.ISO_8859_1);
+            this.order = order;
+            this.next = reader.readLine();
+        }
+
+        /** Function to read the next record.
+         *
+         * @return false if log has ended
+         */
+        private boolean advance() throws IOException {
+            record.clear();
+            if (next == null) {
+                return false;
+            }
+
+            LocalDateTime timestamp = LogLines.timestamp(next);
+            // lines before the first timestamp continue record of the previous log
+            time = timestamp == null ? LocalDateTime.MIN : timestamp;
+            record.add(next);
+            while ((next = reader.readLine()) != null && LogLines.timestamp(next) == null) {
+                record.add(next);
+            }
+            return true;
+        }
+
+        private void close() throws IOException {
+            reader.close();
+        }
+    }
+}
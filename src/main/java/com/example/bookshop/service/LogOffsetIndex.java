@@ -0,0 +1,245 @@
+package com.example.bookshop.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/** Class to find parts of the log file written at given date without scanning it.
+ * Log lines start with dd-MM-yyyy HH:mm:ss and are written in time order, so the index keeps
+ * only offset of the first line of every hour. Index is extended by the lines appended
+ * since the previous request and saved next to the log file, so restart doesn't rebuild it.
+ */
+@Component
+public class LogOffsetIndex {
+
+    static final String INDEX_SUFFIX = ".idx";
+
+    /** Length of dd-MM-yyyy HH prefix of the line. */
+    private static final int HOUR_LENGTH = 13;
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH");
+
+    private final Logger logger = LoggerFactory.getLogger(LogOffsetIndex.class);
+    private final Map<Path, Index> indexes = new HashMap<>();
+
+    /** Function to find parts of the log with lines of the date. Lines without timestamp,
+     * e.g. stack traces, belong to the part of the line before them.
+     *
+     * @param log log file
+     * @param date date in dd-MM-yyyy format
+     * @return parts of the file in file order, usually one
+     * @throws IOException if unable to read the log
+     */
+    public synchronized List<LogRange> findDate(Path log, String date) throws IOException {
+        Index index = update(log);
+        List<LogRange> ranges = new ArrayList<>();
+        long start = -1;
+        for (int i = 0; i < index.hours.size(); i++) {
+            boolean matches = index.hours.get(i).startsWith(date);
+            if (matches && start < 0) {
+                start = index.offsets.get(i);
+            } else if (!matches && start >= 0) {
+                ranges.add(new LogRange(start, index.offsets.get(i)));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            ranges.add(new LogRange(start, index.indexedLength));
+        }
+        return ranges;
+    }
+
+    /** Function to find part of the log which might have lines of the time range.
+     * Part starts at the first line of the hour of {@code from} and ends before the first hour after {@code to}.
+     *
+     * @param log log file
+     * @param from time of the earliest line or null to start at the beginning of the log
+     * @param to time of the latest line or null to end at the end of the log
+     * @return part of the file, it is empty if the log has no lines of the range
+     * @throws IOException if unable to read the log
+     */
+    public synchronized LogRange findRange(Path log, LocalDateTime from, LocalDateTime to) throws IOException {
+        Index index = update(log);
+        LocalDateTime fromHour = from == null ? null : from.truncatedTo(ChronoUnit.HOURS);
+        long start = from == null ? 0 : index.indexedLength;
+        long end = index.indexedLength;
+        for (int i = 0; i < index.hours.size(); i++) {
+            LocalDateTime hour = LocalDateTime.parse(index.hours.get(i), HOUR_FORMATTER);
+            if (to != null && hour.isAfter(to)) {
+                end = index.offsets.get(i);
+                break;
+            }
+            if (fromHour != null && start == index.indexedLength && !hour.isBefore(fromHour)) {
+                start = index.offsets.get(i);
+            }
+        }
+        return new LogRange(Math.min(start, end), end);
+    }
+
+    /** Function to index lines appended since the previous call.
+     * Index is built again if the file became shorter or its content at indexed offset changed,
+     * e.g. after rotation.
+     */
+    private Index update(Path log) throws IOException {
+        Path key = log.toAbsolutePath().normalize();
+        Index index = indexes.get(key);
+        if (index == null) {
+            index = load(indexFile(key));
+            indexes.put(key, index);
+        }
+
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < index.indexedLength || !index.matches(channel)) {
+                index.clear();
+            }
+            if (size > index.indexedLength && scan(channel, size, index)) {
+                save(indexFile(key), index);
+            }
+        }
+        return index;
+    }
+
+    /** Function to add hours of complete lines after indexed length.
+     *
+     * @return true if indexed length changed
+     */
+    private static boolean scan(FileChannel channel, long size, Index index) throws IOException {
+        byte[] head = new byte[HOUR_LENGTH];
+        int column = 0;
+        long lineStart = index.indexedLength;
+
+        for (long windowStart = lineStart; windowStart < size; windowStart += WINDOW_SIZE) {
+            int length = (int) Math.min(WINDOW_SIZE, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+
+            for (int i = 0; i < length; i++) {
+                byte current = window.get(i);
+                if (current != '\n') {
+                    if (column < HOUR_LENGTH) {
+                        head[column++] = current;
+                    }
+                    continue;
+                }
+
+                if (column == HOUR_LENGTH && isHour(head)) {
+                    index.add(new String(head, StandardCharsets.US_ASCII), lineStart);
+                }
+                lineStart = windowStart + i + 1;
+                column = 0;
+            }
+        }
+
+        // unfinished last line is indexed when it is complete
+        boolean changed = lineStart != index.indexedLength;
+        index.indexedLength = lineStart;
+        return changed;
+    }
+
+    private static boolean isHour(byte[] head) {
+        for (int i = 0; i < head.length; i++) {
+            boolean separator = i == 2 || i == 5 || i == 10;
+            byte expected = i == 10 ? (byte) ' ' : (byte) '-';
+            if (separator ? head[i] != expected : head[i] < '0' || head[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Path indexFile(Path log) {
+        return log.resolveSibling(log.getFileName() + INDEX_SUFFIX);
+    }
+
+    /** Function to read saved index. First line holds indexed length, others hold hour and offset. */
+    private Index load(Path file) {
+        Index index = new Index();
+        if (!Files.isReadable(file)) {
+            return index;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+            for (String line : lines.subList(1, lines.size())) {
+                index.add(line.substring(0, HOUR_LENGTH), Long.parseLong(line.substring(HOUR_LENGTH + 1)));
+            }
+            index.indexedLength = Long.parseLong(lines.get(0));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Log index {} can't be read, it is built again", file, e);
+            index.clear();
+        }
+        return index;
+    }
+
+    private void save(Path file, Index index) {
+        List<String> lines = new ArrayList<>(index.hours.size() + 1);
+        lines.add(Long.toString(index.indexedLength));
+        for (int i = 0; i < index.hours.size(); i++) {
+            lines.add(index.hours.get(i) + " " + index.offsets.get(i));
+        }
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temp, lines, StandardCharsets.US_ASCII);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // index stays in memory, only restart has to build it again
+            logger.warn("Log index {} can't be saved", file, e);
+            if (temp != null) {
+                temp.toFile().delete();
+            }
+        }
+    }
+
+    /** Class of offsets of the first lines of every hour in file order. */
+    private static final class Index {
+        private final List<String> hours = new ArrayList<>();
+        private final List<Long> offsets = new ArrayList<>();
+        private long indexedLength;
+
+        private void add(String hour, long offset) {
+            if (hours.isEmpty() || !hours.get(hours.size() - 1).equals(hour)) {
+                hours.add(hour);
+                offsets.add(offset);
+            }
+        }
+
+        private void clear() {
+            hours.clear();
+            offsets.clear();
+            indexedLength = 0;
+        }
+
+        /** Function to check that the last indexed line is still in place. */
+        private boolean matches(FileChannel channel) throws IOException {
+            if (hours.isEmpty()) {
+                return true;
+            }
+            ByteBuffer head = ByteBuffer.allocate(HOUR_LENGTH);
+            long offset = offsets.get(offsets.size() - 1);
+            int read = 0;
+            while (head.hasRemaining() && read >= 0) {
+                read = channel.read(head, offset + head.position());
+            }
+            return hours.get(hours.size() - 1).equals(new String(head.array(), 0, head.position(),
+                    StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.bookshop.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+
+/** Class of filters of the log records. Record is line with timestamp together with following lines
+ * without it, e.g. stack trace. Every filter is optional.
+ *
+ * @param from time of the earliest record
+ * @param to time of the latest record
+ * @param level least important level of the records
+ * @param contains text which records should contain
+ * @param pattern regular expression which should be found in records
+ * @param deadline value of System.nanoTime when regex matching fails or null if time isn't limited
+ */
+public record LogQuery(LocalDateTime from, LocalDateTime to, String level, String contains, Pattern pattern,
+                       Long deadline) {
+
+    /** Constructor of the query without time limit. */
+    public LogQuery(LocalDateTime from, LocalDateTime to, String level, String contains, Pattern pattern) {
+        this(from, to, level, contains, pattern, null);
+    }
+
+    /** Function to get the same query which regex matching fails after time limit from now.
+     *
+     * @param timeLimit time which regex can spend on the whole log
+     * @return query with deadline
+     */
+    LogQuery withTimeLimit(Duration timeLimit) {
+        return new LogQuery(from, to, level, contains, pattern, System.nanoTime() + timeLimit.toNanos());
+    }
+
+    /** Function to check whether record is written after the requested time.
+     * Records are written in time order, so the rest of the log can be skipped.
+     */
+    boolean isAfterRange(LocalDateTime time) {
+        return to != null && time.isAfter(to);
+    }
+
+    /** Function to check time and level of the record. */
+    boolean matchesHeader(LocalDateTime time, String recordLevel) {
+        if (from != null && time.isBefore(from) || isAfterRange(time)) {
+            return false;
+        }
+        return level == null
+                || recordLevel != null && LogLines.LEVELS.indexOf(recordLevel) >= LogLines.LEVELS.indexOf(level);
+    }
+
+    boolean hasTextFilter() {
+        return contains != null || pattern != null;
+    }
+
+    /** Function to check text of the whole record. */
+    boolean matchesText(String text) {
+        return (contains == null || text.contains(contains)) && (pattern == null
+                || pattern.matcher(new DeadlineCharSequence(text, deadline)).find());
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.bookshop.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.springframework.stereotype.Component;
+
+/** Class to copy log records which match the query. Big files are split into chunks
+ * which start at the line with timestamp, chunks are scanned on all cores and their results
+ * are written in file order as soon as every previous chunk is written.
+ */
+@Component
+public class LogQueryScanner {
+
+    private static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+    /** Length of the beginning of the line with timestamp and level. */
+    private static final int HEADER_LENGTH = 32;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final long chunkSize;
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    /** Constructor of the class. */
+    public LogQueryScanner() {
+        this(DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    LogQueryScanner(long chunkSize, int parallelism) {
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /** Function to stop scanning threads when the app stops. */
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /** Function to copy matching records from part of the file.
+     * Only a few chunks are scanned ahead of the written one, so memory doesn't depend on file size.
+     *
+     * @param file log file
+     * @param range part of the file which starts at the line with timestamp
+     * @param query filters of the records
+     * @param target file to write, it is created or truncated
+     * @return amount of copied bytes
+     * @throws IOException if unable to read the log or write target
+     */
+    public long scan(Path file, LogRange range, LogQuery query, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            List<LogRange> chunks = split(in, range);
+            Deque<ForkJoinTask<byte[]>> running = new ArrayDeque<>();
+            int next = 0;
+            long copied = 0;
+
+            try {
+                while (next < chunks.size() || !running.isEmpty()) {
+                    while (next < chunks.size() && running.size() < parallelism * 2) {
+                        LogRange chunk = chunks.get(next++);
+                        running.add(pool.submit(() -> scanChunk(in, chunk, query)));
+                    }
+
+                    ByteBuffer result = ByteBuffer.wrap(join(running.poll()));
+                    copied += result.remaining();
+                    while (result.hasRemaining()) {
+                        out.write(result);
+                    }
+                }
+            } finally {
+                running.forEach(task -> task.cancel(true));
+            }
+            return copied;
+        }
+    }
+
+    /** Function to copy matching records from stream of the log, e.g. decompressed archive.
+     * Reading stops at the first record after the time range.
+     *
+     * @param in stream of the log, it is closed
+     * @param query filters of the records
+     * @param target file to write, it is created or truncated
+     * @return amount of copied bytes
+     * @throws IOException if unable to read stream or write target
+     */
+    public long scan(InputStream in, LogQuery query, Path target) throws IOException {
+        // ISO-8859-1 maps every byte to one char, so records are written back unchanged
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.ISO_8859_1),
+                BUFFER_SIZE);
+             BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.ISO_8859_1)) {
+            StringBuilder record = new StringBuilder();
+            boolean headerMatches = false;
+            long copied = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LocalDateTime time = LogLines.timestamp(line);
+                if (time != null) {
+                    copied += write(record, headerMatches, query, writer);
+                    record.setLength(0);
+                    if (query.isAfterRange(time)) {
+                        return copied;
+                    }
+                    headerMatches = query.matchesHeader(time, LogLines.level(line));
+                }
+                if (headerMatches) {
+                    record.append(line).append('\n');
+                }
+            }
+            return copied + write(record, headerMatches, query, writer);
+        }
+    }
+
+    private static long write(StringBuilder record, boolean headerMatches, LogQuery query, BufferedWriter writer)
+            throws IOException {
+        if (!headerMatches || record.isEmpty() || query.hasTextFilter() && !query.matchesText(
+                new String(record.toString().getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8))) {
+            return 0;
+        }
+        writer.append(record);
+        return record.length();
+    }
+
+    /** Function to split part of the file into chunks of about chunk size, every chunk starts at record. */
+    private List<LogRange> split(FileChannel in, LogRange range) throws IOException {
+        List<LogRange> chunks = new ArrayList<>();
+        long start = range.start();
+        while (start < range.end()) {
+            long end = start + chunkSize >= range.end()
+                    ? range.end() : nextRecordStart(in, start + chunkSize, range.end());
+            chunks.add(new LogRange(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /** Function to find the first line with timestamp which starts after position. */
+    private static long nextRecordStart(FileChannel in, long position, long limit) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        ByteBuffer header = ByteBuffer.allocate(LogLines.TIMESTAMP_LENGTH);
+        long bufferStart = position;
+        while (bufferStart < limit) {
+            buffer.clear().limit((int) Math.min(BUFFER_SIZE, limit - bufferStart));
+            int read = in.read(buffer, bufferStart);
+            if (read <= 0) {
+                break;
+            }
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) != '\n') {
+                    continue;
+                }
+                long lineStart = bufferStart + i + 1;
+                header.clear();
+                in.read(header, lineStart);
+                if (LogLines.timestamp(new String(header.array(), 0, header.position(),
+                        StandardCharsets.ISO_8859_1)) != null) {
+                    return Math.min(lineStart, limit);
+                }
+            }
+            bufferStart += read;
+        }
+        return limit;
+    }
+
+    /** Function to find matching records of one chunk.
+     *
+     * @return bytes of the matching records in file order
+     */
+    private static byte[] scanChunk(FileChannel in, LogRange chunk, LogQuery query) {
+        try {
+            int length = (int) chunk.length();
+            MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, chunk.start(), length);
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            int recordStart = -1;
+            boolean headerMatches = false;
+            int lineStart = 0;
+
+            for (int i = 0; i <= length; i++) {
+                if (i < length && buffer.get(i) != '\n') {
+                    continue;
+                }
+                int lineEnd = Math.min(i + 1, length);
+                if (lineStart < lineEnd) {
+                    String header = ascii(buffer, lineStart, Math.min(lineEnd, lineStart + HEADER_LENGTH));
+                    LocalDateTime time = LogLines.timestamp(header);
+                    if (time != null) {
+                        copy(buffer, recordStart, lineStart, headerMatches, query, result);
+                        recordStart = lineStart;
+                        headerMatches = query.matchesHeader(time, LogLines.level(header));
+                    }
+                }
+                lineStart = lineEnd;
+            }
+            copy(buffer, recordStart, length, headerMatches, query, result);
+            return result.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void copy(MappedByteBuffer buffer, int start, int end, boolean headerMatches, LogQuery query,
+                             ByteArrayOutputStream result) {
+        if (start < 0 || !headerMatches) {
+            return;
+        }
+        byte[] record = new byte[end - start];
+        buffer.get(start, record);
+        if (!query.hasTextFilter() || query.matchesText(new String(record, StandardCharsets.UTF_8))) {
+            result.writeBytes(record);
+        }
+    }
+
+    private static String ascii(MappedByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] join(ForkJoinTask<byte[]> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
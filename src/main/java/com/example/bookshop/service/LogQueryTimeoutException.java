@@ -0,0 +1,10 @@
+package com.example.bookshop.service;
+
+/** Class of exception which stops log query when its regex runs out of time or the task is cancelled. */
+public class LogQueryTimeoutException extends RuntimeException {
+
+    /** Constructor of the class. */
+    public LogQueryTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.bookshop.service;
+
+/** Class of continuous part of the log file.
+ *
+ * @param start offset of the first byte
+ * @param end offset after the last byte
+ */
+public record LogRange(long start, long end) {
+
+    public long length() {
+        return end - start;
+    }
+}
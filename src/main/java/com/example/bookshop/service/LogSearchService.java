@@ -0,0 +1,164 @@
+package com.example.bookshop.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/** Class to find log lines in the live log and in its rotated archives. */
+@Service
+public class LogSearchService {
+
+    private final LogExtractor logExtractor;
+    private final LogOffsetIndex logOffsetIndex;
+    private final LogArchiveCatalog logArchiveCatalog;
+    private final LogMerger logMerger;
+    private final LogQueryScanner logQueryScanner;
+    private final Executor executor;
+
+    /** Constructor of the class. */
+    public LogSearchService(LogExtractor logExtractor, LogOffsetIndex logOffsetIndex,
+                            LogArchiveCatalog logArchiveCatalog, LogMerger logMerger,
+                            LogQueryScanner logQueryScanner, @Qualifier("logSearchExecutor") Executor executor) {
+        this.logExtractor = logExtractor;
+        this.logOffsetIndex = logOffsetIndex;
+        this.logArchiveCatalog = logArchiveCatalog;
+        this.logMerger = logMerger;
+        this.logQueryScanner = logQueryScanner;
+        this.executor = executor;
+    }
+
+    /** Function to copy lines of the date into the file in time order.
+     * If only the live log has the date, its lines are copied by offset index.
+     * Otherwise every archive which might have the date is scanned in parallel
+     * and found lines are merged by time.
+     *
+     * @param log live log file
+     * @param date date of the lines
+     * @param target file to write
+     * @return amount of copied bytes
+     * @throws IOException if unable to read logs or write target
+     */
+    public long extractDate(Path log, LocalDate date, Path target) throws IOException {
+        List<LogArchiveCatalog.LogArchive> archives = logArchiveCatalog.findArchives(log, date);
+        if (archives.isEmpty()) {
+            return Files.exists(log) ? extractLive(log, date, target) : 0;
+        }
+
+        List<PartWriter> writers = new ArrayList<>();
+        for (LogArchiveCatalog.LogArchive archive : archives) {
+            writers.add(part -> logExtractor.extract(LogArchiveCatalog.open(archive.path()), date, part));
+        }
+        if (Files.exists(log)) {
+            writers.add(part -> extractLive(log, date, part));
+        }
+        return writeParts(writers, target);
+    }
+
+    /** Function to copy records which match the query into the file in time order.
+     * Part of the live log is found by offset index and scanned in parallel chunks,
+     * archives which might have the time range are scanned in parallel to each other.
+     *
+     * @param log live log file
+     * @param query filters of the records
+     * @param target file to write
+     * @return amount of copied bytes
+     * @throws IOException if unable to read logs or write target
+     */
+    public long query(Path log, LogQuery query, Path target) throws IOException {
+        List<LogArchiveCatalog.LogArchive> archives = logArchiveCatalog.findArchives(log, query.from(), query.to());
+        if (archives.isEmpty()) {
+            return Files.exists(log) ? queryLive(log, query, target) : 0;
+        }
+
+        List<PartWriter> writers = new ArrayList<>();
+        for (LogArchiveCatalog.LogArchive archive : archives) {
+            writers.add(part -> logQueryScanner.scan(LogArchiveCatalog.open(archive.path()), query, part));
+        }
+        if (Files.exists(log)) {
+            writers.add(part -> queryLive(log, query, part));
+        }
+        return writeParts(writers, target);
+    }
+
+    /** Function to write every part in parallel and merge them by time. */
+    private long writeParts(List<PartWriter> writers, Path target) throws IOException {
+        List<CompletableFuture<Path>> futures = new ArrayList<>();
+        for (PartWriter writer : writers) {
+            futures.add(CompletableFuture.supplyAsync(() -> writePart(writer), executor));
+        }
+
+        List<Path> parts = new ArrayList<>();
+        RuntimeException failure = null;
+        for (CompletableFuture<Path> future : futures) {
+            try {
+                parts.add(future.join());
+            } catch (CompletionException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+
+        try {
+            if (failure != null) {
+                throw failure.getCause() instanceof UncheckedIOException ioException
+                        ? ioException.getCause() : new IOException(failure.getCause());
+            }
+
+            List<Path> foundParts = new ArrayList<>();
+            for (Path part : parts) {
+                if (Files.size(part) > 0) {
+                    foundParts.add(part);
+                }
+            }
+            if (foundParts.size() == 1) {
+                Files.move(foundParts.get(0), target, StandardCopyOption.REPLACE_EXISTING);
+                return Files.size(target);
+            }
+            return logMerger.merge(foundParts, target);
+        } finally {
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    private long extractLive(Path log, LocalDate date, Path target) throws IOException {
+        List<LogRange> ranges = logOffsetIndex.findDate(log, date.format(LogLines.DATE_FORMATTER));
+        return logExtractor.copy(log, ranges, target);
+    }
+
+    private long queryLive(Path log, LogQuery query, Path target) throws IOException {
+        LogRange range = logOffsetIndex.findRange(log, query.from(), query.to());
+        return logQueryScanner.scan(log, range, query, target);
+    }
+
+    private static Path writePart(PartWriter writer) {
+        try {
+            Path part = Files.createTempFile("logs-part", ".log");
+            try {
+                writer.write(part);
+                return part;
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(part);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Interface of the task which writes lines of one log into the part file. */
+    @FunctionalInterface
+    private interface PartWriter {
+        void write(Path part) throws IOException;
+    }
+}
@@ -1,32 +1,40 @@
 package com.example.bookshop.service;
 
+import com.example.bookshop.dto.LogQueryDto;
+import com.example.bookshop.exception.InvalidValueFormatException;
 import com.example.bookshop.exception.ResourceNotFoundException;
 import com.example.bookshop.model.LogObj;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 /** Class to hold logic for operations with logs. */
 @Service
 public class LogService {
+    /** Regex comes from unauthenticated request and runs on every record of the log. */
+    private static final int MAX_REGEX_LENGTH = 200;
+
     private final AsyncLogService asyncLogService;
     private final CacheManager cacheManager;
+    private final LogFileSender logFileSender;
     private final AtomicLong idCounter = new AtomicLong(1);
 
     /** Constructor of the class. */
-    public LogService(AsyncLogService asyncLogService, CacheManager cacheManager) {
+    public LogService(AsyncLogService asyncLogService, CacheManager cacheManager, LogFileSender logFileSender) {
         this.asyncLogService = asyncLogService;
         this.cacheManager = cacheManager;
+        this.logFileSender = logFileSender;
     }
 
     /** Function to start creating log file.
@@ -45,6 +53,65 @@ public class LogService {
         return id;
     }
 
+    /** Function to start creating log file with records which match the query.
+     *
+     * @param queryDto filters of the records
+     * @return id of the task
+     */
+    public Long startLogQuery(LogQueryDto queryDto) {
+        LogQuery query = toQuery(queryDto);
+        Long id = idCounter.getAndIncrement();
+        Cache logsCache = cacheManager.getCache("logTasks");
+        if (logsCache != null) {
+            logsCache.put(id, new LogObj(id, "IN_PROGRESS"));
+        }
+        asyncLogService.queryLogs(id, query, logsCache);
+        return id;
+    }
+
+    private static LogQuery toQuery(LogQueryDto queryDto) {
+        LocalDateTime from = parseTime(queryDto.getFrom());
+        LocalDateTime to = parseTime(queryDto.getTo());
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidValueFormatException(HttpStatus.BAD_REQUEST, "Start of the range is after its end");
+        }
+
+        String level = queryDto.getLevel() == null ? null : queryDto.getLevel().trim().toUpperCase(Locale.ROOT);
+        if (level != null && !LogLines.LEVELS.contains(level)) {
+            throw new InvalidValueFormatException(HttpStatus.BAD_REQUEST,
+                    "Invalid level. Required one of " + LogLines.LEVELS);
+        }
+
+        Pattern pattern = null;
+        if (queryDto.getRegex() != null) {
+            if (queryDto.getRegex().length() > MAX_REGEX_LENGTH) {
+                throw new InvalidValueFormatException(HttpStatus.BAD_REQUEST,
+                        "Regex is longer than " + MAX_REGEX_LENGTH + " characters");
+            }
+            try {
+                pattern = Pattern.compile(queryDto.getRegex());
+            } catch (PatternSyntaxException e) {
+                throw new InvalidValueFormatException(HttpStatus.BAD_REQUEST, "Invalid regex: " + e.getDescription());
+            }
+        }
+
+        String contains = queryDto.getContains() == null || queryDto.getContains().isEmpty()
+                ? null : queryDto.getContains();
+        return new LogQuery(from, to, level, contains, pattern);
+    }
+
+    private static LocalDateTime parseTime(String time) {
+        if (time == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(time.trim(), LogLines.TIMESTAMP_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new InvalidValueFormatException(HttpStatus.BAD_REQUEST,
+                    "Invalid time format. Required dd-mm-yyyy hh:mm:ss");
+        }
+    }
+
     /** Function to get status of creating log file.
      *
      * @param taskId id of the task
@@ -60,12 +127,15 @@ public class LogService {
     }
 
     /** Function to download file with specified logs.
+     * Download can be continued by range request and is compressed for clients which accept gzip.
      *
      * @param taskId id of the task
-     * @return file with specified logs
+     * @param request request of the client
+     * @param response response to write the file to
      * @throws IOException if unable to write data from main log file
      */
-    public ResponseEntity<Resource> downloadCreatedLogs(Long taskId) throws IOException {
+    public void downloadCreatedLogs(Long taskId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
         LogObj task = getStatus(taskId);
         if (task == null) {
             throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Logs not found");
@@ -74,13 +144,6 @@ public class LogService {
             throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Logs not ready");
         }
 
-        Path path = Paths.get(task.getFilePath());
-        Resource resource = new UrlResource(path.toUri());
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + resource.getFilename() + "\"")
-                .body(resource);
+        logFileSender.send(Paths.get(task.getFilePath()), request, response);
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,18 @@
 package com.example.bookshop.service;
 
+import com.example.bookshop.cache.CacheInvalidator;
+import com.example.bookshop.cache.EntityKey;
+import com.example.bookshop.cache.ValueRange;
 import com.example.bookshop.exception.ResourceNotFoundException;
 import com.example.bookshop.model.Book;
 import com.example.bookshop.model.Review;
 import com.example.bookshop.repository.BookRepository;
 import com.example.bookshop.repository.ReviewRepository;
 import java.util.List;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /** Class that make CRUD operations with Review object. */
 @Service
@@ -19,15 +22,17 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final BookRepository bookRepository;
+    private final CacheInvalidator cacheInvalidator;
 
     /** Constructor of the class.
      *
      * @param reviewRepository object of the ReviewRepository class
      */
     public ReviewService(ReviewRepository reviewRepository,
-                         BookRepository bookRepository) {
+                         BookRepository bookRepository, CacheInvalidator cacheInvalidator) {
         this.reviewRepository = reviewRepository;
         this.bookRepository = bookRepository;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     /** Function to add review to the book.
@@ -36,13 +41,35 @@ public class ReviewService {
      * @param review object of the Review class
      * @return created review
      */
-    @CacheEvict(value = {"reviews", "books"}, key = "#bookId")
+    @Transactional
     public Review createReview(Long bookId, Review review) {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE));
 
         review.setBook(book);
-        return reviewRepository.save(review);
+        Review savedReview = reviewRepository.save(review);
+        bookRepository.adjustReviewCount(bookId, 1);
+        cacheInvalidator.invalidate("review.create", getChangedCounters(bookId, 1), EntityKey.book(bookId));
+        return savedReview;
+    }
+
+    /** Function to add some reviews to the book with one update of the review counter.
+     *
+     * @param bookId id of the book
+     * @param reviews objects of the Review class
+     * @return created reviews
+     */
+    @Transactional
+    public List<Review> createReviews(Long bookId, List<Review> reviews) {
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE));
+
+        reviews.forEach(review -> review.setBook(book));
+        List<Review> savedReviews = reviewRepository.saveAll(reviews);
+        bookRepository.adjustReviewCount(bookId, savedReviews.size());
+        cacheInvalidator.invalidate("review.create", getChangedCounters(bookId, savedReviews.size()),
+                EntityKey.book(bookId));
+        return savedReviews;
     }
 
     /** Function to update review of the book.
@@ -52,7 +79,6 @@ public class ReviewService {
      * @param bookId id of the book
      * @return updated review
      */
-    @CacheEvict(value = {"reviews", "books"}, key = "#bookId")
     public Review updateReview(Integer reviewId, Review review, Long bookId) {
         if (!bookRepository.existsById(bookId)) {
             throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE);
@@ -61,19 +87,38 @@ public class ReviewService {
         Review initialReview = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Review not found"));
         initialReview.setMessage(review.getMessage());
-        return reviewRepository.save(initialReview);
+        Review savedReview = reviewRepository.save(initialReview);
+        cacheInvalidator.invalidate("review.update", EntityKey.book(bookId));
+        return savedReview;
     }
 
-    /** Function to delete review.
+    /** Function to delete review only if it belongs to the book.
      *
      * @param reviewId id of the review
+     * @param bookId id of the book
      */
-    @CacheEvict(value = {"reviews", "books"}, key = "#bookId")
+    @Transactional
     public void deleteReview(Integer reviewId, Long bookId) {
         if (!bookRepository.existsById(bookId)) {
             throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE);
         }
-        reviewRepository.deleteById(reviewId);
+
+        // entity is deleted, so only the review and reviews of its book are evicted from second-level cache
+        Review review = reviewRepository.findById(reviewId)
+                .filter(found -> found.getBook() != null && bookId.equals(found.getBook().getId()))
+                .orElseThrow(() -> new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Review not found"));
+        reviewRepository.delete(review);
+        bookRepository.adjustReviewCount(bookId, -1);
+        cacheInvalidator.invalidate("review.delete", getChangedCounters(bookId, -1), EntityKey.book(bookId));
+    }
+
+    /** Function to get range between old and new review counter of the book.
+     * Counter is read after the update in the same transaction, so the row is still locked
+     * and concurrent changes can't get between.
+     */
+    private ValueRange getChangedCounters(Long bookId, long delta) {
+        long reviewCount = bookRepository.findReviewCountById(bookId).orElse(delta);
+        return ValueRange.reviewCount(reviewCount - delta, reviewCount);
     }
 
     /** Function to get all reviews of the book.
@@ -81,7 +126,7 @@ public class ReviewService {
      * @param bookId id of the book
      * @return reviews of the book
      */
-    @Cacheable("reviews")
+    @Cacheable(value = "reviews", sync = true)
     public List<Review> getReviewsByBookId(Long bookId) {
         return reviewRepository.findByBookId(bookId);
     }
@@ -0,0 +1,43 @@
+package com.example.bookshop.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import com.example.bookshop.model.Book;
+import com.example.bookshop.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class BookCacheLoaderTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private CacheDependencyTracker tracker;
+
+    @InjectMocks
+    private BookCacheLoader bookCacheLoader;
+
+    @Test
+    void load_RegisterLoadedBook() {
+        Book book = new Book();
+        book.setId(1L);
+        when(bookRepository.findLoadedById(1L)).thenReturn(Optional.of(book));
+
+        assertSame(book, bookCacheLoader.load(1L));
+        verify(tracker).register("books", 1L, book);
+    }
+
+    @Test
+    void load_ForgetDeletedBook() {
+        when(bookRepository.findLoadedById(2L)).thenReturn(Optional.empty());
+
+        assertNull(bookCacheLoader.load(2L));
+        verify(tracker).unregister("books", 2L);
+    }
+}
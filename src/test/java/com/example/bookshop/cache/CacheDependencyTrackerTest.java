@@ -0,0 +1,136 @@
+package com.example.bookshop.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import com.example.bookshop.model.Author;
+import com.example.bookshop.model.Book;
+import com.example.bookshop.model.Review;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+class CacheDependencyTrackerTest {
+
+    private final CacheDependencyTracker tracker = new CacheDependencyTracker();
+
+    @Test
+    void register_LinkBookEntryToItsAuthors() {
+        Author author = new Author();
+        author.setId(2L);
+        Book book = new Book();
+        book.setId(1L);
+        book.setAuthors(List.of(author));
+
+        tracker.register("books", 1L, book);
+
+        assertEquals(Set.of(new CacheEntryKey("books", 1L)), tracker.getDependents(EntityKey.author(2L)));
+        assertEquals(Set.of(new CacheEntryKey("books", 1L)), tracker.getDependents(EntityKey.book(1L)));
+    }
+
+    @Test
+    void register_LinkAuthorEntryToItsBooks() {
+        Book book = new Book();
+        book.setId(1L);
+        Author author = new Author();
+        author.setId(2L);
+        author.setBooks(new ArrayList<>(List.of(book)));
+
+        tracker.register("authors", 2L, author);
+
+        assertEquals(Set.of(new CacheEntryKey("authors", 2L)), tracker.getDependents(EntityKey.book(1L)));
+    }
+
+    @Test
+    void register_LinkEmptyReviewListToBookByKey() {
+        tracker.register("reviews", 1L, List.<Review>of());
+
+        assertEquals(Set.of(new CacheEntryKey("reviews", 1L)), tracker.getDependents(EntityKey.book(1L)));
+    }
+
+    @Test
+    void register_ForgetOldDependenciesOfReplacedEntry() {
+        Author oldAuthor = new Author();
+        oldAuthor.setId(2L);
+        Author newAuthor = new Author();
+        newAuthor.setId(3L);
+        Book book = new Book();
+        book.setId(1L);
+
+        book.setAuthors(List.of(oldAuthor));
+        tracker.register("books", 1L, book);
+        book.setAuthors(List.of(newAuthor));
+        tracker.register("books", 1L, book);
+
+        assertTrue(tracker.getDependents(EntityKey.author(2L)).isEmpty());
+        assertEquals(1, tracker.getDependents(EntityKey.author(3L)).size());
+    }
+
+    @Test
+    void unregister_ForgetEvictedEntry() {
+        Book book = new Book();
+        book.setId(1L);
+        tracker.register("books", 1L, book);
+
+        tracker.unregister("books", 1L);
+
+        assertTrue(tracker.getDependents(EntityKey.book(1L)).isEmpty());
+    }
+
+    @Test
+    void unregisterAll_ForgetOnlyEntriesOfClearedCache() {
+        tracker.register("books", 1L, new Book());
+        tracker.register("reviews", 1L, List.of());
+
+        tracker.unregisterAll("books");
+
+        assertEquals(Set.of(new CacheEntryKey("reviews", 1L)), tracker.getDependents(EntityKey.book(1L)));
+    }
+
+    @Test
+    void getDependents_FindEntriesCoveringChangedCounters() {
+        tracker.registerRange("booksByReviewCount", "first", ValueRange.reviewCount(5, 9));
+        tracker.registerRange("booksByReviewCount", "second", ValueRange.reviewCount(1, 4));
+
+        assertEquals(List.of(new CacheEntryKey("booksByReviewCount", "first")),
+                tracker.getDependents(ValueRange.reviewCount(9, 10)));
+        assertTrue(tracker.getDependents(ValueRange.reviewCount(10, 11)).isEmpty());
+        assertEquals(2, tracker.getDependents(ValueRange.reviewCount(Long.MIN_VALUE, 5)).size());
+    }
+
+    @Test
+    void registerEntities_LinkQueryResultToNamesAndBooks() {
+        tracker.registerEntities("booksByAuthor", "Joshua Bloch",
+                List.of(EntityKey.book(1L), EntityKey.authorName("Joshua Bloch")));
+
+        assertEquals(Set.of(new CacheEntryKey("booksByAuthor", "Joshua Bloch")),
+                tracker.getDependents(EntityKey.authorName("  joshua   BLOCH ")));
+        tracker.unregister("booksByAuthor", "Joshua Bloch");
+        assertTrue(tracker.getDependents(EntityKey.book(1L)).isEmpty());
+    }
+
+    @Test
+    void register_LinkQueryResultToItsEntitiesAndRange() {
+        QueryResult<String> result = new QueryResult<>("Java", Set.of(EntityKey.authorName("Joshua Bloch")),
+                ValueRange.reviewCount(3, 5));
+
+        tracker.register("booksByReviewCount", 1L, result);
+
+        CacheEntryKey entry = new CacheEntryKey("booksByReviewCount", 1L);
+        assertEquals(Set.of(entry), tracker.getDependents(EntityKey.authorName("Joshua Bloch")));
+        assertEquals(List.of(entry), tracker.getDependents(ValueRange.reviewCount(4, 4)));
+    }
+
+    @Test
+    void isInvalidatedSince_FindOnlyOverlappingWritesAfterSequence() {
+        tracker.register("booksByReviewCount", 1L, new QueryResult<>("Java", Set.of(EntityKey.book(1L)),
+                ValueRange.reviewCount(3, 5)));
+        tracker.recordInvalidation(List.of(EntityKey.book(1L)), null);
+        long sequence = tracker.getInvalidationSequence();
+
+        tracker.recordInvalidation(List.of(EntityKey.book(2L)), ValueRange.reviewCount(7, 8));
+        assertFalse(tracker.isInvalidatedSince(sequence, "booksByReviewCount", 1L));
+
+        tracker.recordInvalidation(List.of(EntityKey.book(3L)), ValueRange.reviewCount(5, 6));
+        assertTrue(tracker.isInvalidatedSince(sequence, "booksByReviewCount", 1L));
+    }
+}
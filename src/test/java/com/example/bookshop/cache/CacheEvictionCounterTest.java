@@ -0,0 +1,34 @@
+package com.example.bookshop.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.junit.jupiter.api.Test;
+
+class CacheEvictionCounterTest {
+
+    private final CacheEvictionCounter counter = new CacheEvictionCounter();
+
+    @Test
+    void record_CountEvictionsByCacheAndCause() {
+        counter.record("books", RemovalCause.SIZE);
+        counter.record("books", RemovalCause.SIZE);
+        counter.record("books", RemovalCause.EXPIRED);
+        counter.record("authors", RemovalCause.SIZE);
+
+        assertEquals(2, counter.getCount("books", RemovalCause.SIZE));
+        assertEquals(1, counter.getCount("books", RemovalCause.EXPIRED));
+        assertEquals(1, counter.getCount("authors", RemovalCause.SIZE));
+    }
+
+    @Test
+    void getCounts_ReportOnlyEvictionCauses() {
+        counter.record("books", RemovalCause.COLLECTED);
+
+        assertAll(
+                () -> assertEquals(1L, counter.getCounts("books").get("COLLECTED")),
+                () -> assertEquals(0L, counter.getCounts("books").get("SIZE")),
+                () -> assertFalse(counter.getCounts("books").containsKey("EXPLICIT")),
+                () -> assertEquals(0L, counter.getCounts("reviews").get("EXPIRED"))
+        );
+    }
+}
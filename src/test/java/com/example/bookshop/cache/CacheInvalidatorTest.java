@@ -0,0 +1,68 @@
+package com.example.bookshop.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidatorTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private CacheDependencyTracker tracker;
+
+    @InjectMocks
+    private CacheInvalidator cacheInvalidator;
+
+    @Test
+    void invalidate_EvictOnlyDependentEntriesAndCountThem() {
+        Cache books = mock(Cache.class);
+        Cache authors = mock(Cache.class);
+        when(tracker.getDependents(EntityKey.author(2L))).thenReturn(Set.of(
+                new CacheEntryKey("books", 1L), new CacheEntryKey("authors", 2L)));
+        when(cacheManager.getCache("books")).thenReturn(books);
+        when(cacheManager.getCache("authors")).thenReturn(authors);
+        when(books.evictIfPresent(1L)).thenReturn(true);
+        when(authors.evictIfPresent(2L)).thenReturn(false);
+
+        cacheInvalidator.invalidate("author.update", EntityKey.author(2L));
+
+        verify(books).evictIfPresent(1L);
+        verify(books, never()).clear();
+        assertEquals(Map.of("writes", 1L, "evictedEntries", 1L), cacheInvalidator.getCounters().get("author.update"));
+    }
+
+    @Test
+    void invalidate_CountWriteWithoutCachedEntries() {
+        when(tracker.getDependents(EntityKey.book(1L))).thenReturn(Set.of());
+
+        cacheInvalidator.invalidate("book.delete", EntityKey.book(1L));
+
+        assertEquals(0L, cacheInvalidator.getCounters().get("book.delete").get("evictedEntries"));
+    }
+
+    @Test
+    void invalidate_EvictEntriesCoveringChangedRange() {
+        Cache pages = mock(Cache.class);
+        when(tracker.getDependents(EntityKey.book(1L))).thenReturn(Set.of());
+        when(tracker.getDependents(ValueRange.reviewCount(4, 5))).thenReturn(
+                List.of(new CacheEntryKey("booksByReviewCount", "page")));
+        when(cacheManager.getCache("booksByReviewCount")).thenReturn(pages);
+        when(pages.evictIfPresent("page")).thenReturn(true);
+
+        cacheInvalidator.invalidate("review.create", ValueRange.reviewCount(4, 5), EntityKey.book(1L));
+
+        assertEquals(1L, cacheInvalidator.getCounters().get("review.create").get("evictedEntries"));
+    }
+}
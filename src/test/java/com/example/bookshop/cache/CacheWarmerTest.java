@@ -0,0 +1,78 @@
+package com.example.bookshop.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import com.example.bookshop.config.CacheWarmUpProperties;
+import com.example.bookshop.exception.ResourceNotFoundException;
+import com.example.bookshop.service.AuthorService;
+import com.example.bookshop.service.BookService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpStatus;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+class CacheWarmerTest {
+
+    @TempDir
+    Path directory;
+
+    private final BookService bookService = mock(BookService.class);
+    private final AuthorService authorService = mock(AuthorService.class);
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager("books", "authors");
+
+    private CacheWarmer warmer(Duration timeBudget) {
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+        CacheWarmUpProperties properties = new CacheWarmUpProperties();
+        properties.setSnapshotFile(directory.resolve("warm-up.txt"));
+        properties.setKeysPerCache(2);
+        properties.setTimeBudget(timeBudget);
+        properties.setParallelism(2);
+        return new CacheWarmer(cacheManager, properties, bookService, authorService);
+    }
+
+    @Test
+    void snapshot_SaveHottestKeysOfEveryCache() throws IOException {
+        CacheWarmer warmer = warmer(Duration.ofSeconds(5));
+        cacheManager.getCache("books").put(1L, "book");
+        cacheManager.getCache("authors").put(7L, "author");
+
+        warmer.snapshot();
+
+        assertEquals(List.of("books:1", "authors:7"), Files.readAllLines(directory.resolve("warm-up.txt")));
+    }
+
+    @Test
+    void snapshot_KeepPreviousSnapshotWhenCachesAreEmpty() throws IOException {
+        CacheWarmer warmer = warmer(Duration.ofSeconds(5));
+        Files.write(directory.resolve("warm-up.txt"), List.of("books:3"));
+
+        warmer.snapshot();
+
+        assertEquals(List.of("books:3"), Files.readAllLines(directory.resolve("warm-up.txt")));
+    }
+
+    @Test
+    void warmUp_LoadSavedKeysThroughServices() throws IOException {
+        Files.write(directory.resolve("warm-up.txt"), List.of("books:1", "authors:7", "books:404", "unknown:2", "books:x"));
+        when(bookService.findById(404L))
+                .thenThrow(new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Book not found", false));
+
+        assertEquals(2, warmer(Duration.ofSeconds(5)).warmUp());
+        verify(bookService).findById(1L);
+        verify(authorService).findById(7L);
+    }
+
+    @Test
+    void warmUp_SkipWhenBudgetIsZero() throws IOException {
+        Files.write(directory.resolve("warm-up.txt"), List.of("books:1"));
+
+        assertEquals(0, warmer(Duration.ZERO).warmUp());
+        verifyNoInteractions(bookService);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.bookshop.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(MockitoExtension.class)
+class DependencyTrackingCacheTest {
+
+    @Mock
+    private CacheDependencyTracker tracker;
+
+    @Test
+    void get_LoadValueOnceForConcurrentRequests() throws Exception {
+        DependencyTrackingCache cache = new DependencyTrackingCache(new ConcurrentMapCache("books"), tracker);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            releaseLoad.await();
+            return "Java";
+        }));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> second = new CompletableFuture<>();
+        Thread waiter = new Thread(() -> second.complete(cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return "Other";
+        })));
+        waiter.start();
+        while (waiter.getState() != Thread.State.BLOCKED && waiter.getState() != Thread.State.WAITING
+                && !second.isDone()) {
+            Thread.onSpinWait();
+        }
+        releaseLoad.countDown();
+
+        assertEquals("Java", first.get(5, TimeUnit.SECONDS));
+        assertEquals("Java", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getCoalescedRequests());
+        verify(tracker).register("books", 1L, "Java");
+    }
+
+    @Test
+    void get_DoNotCountCachedValueAsCoalesced() {
+        DependencyTrackingCache cache = new DependencyTrackingCache(new ConcurrentMapCache("books"), tracker);
+
+        cache.get(1L, () -> "Java");
+        cache.get(1L, () -> "Other");
+
+        assertEquals("Java", cache.get(1L, () -> "Other"));
+        assertEquals(0, cache.getCoalescedRequests());
+    }
+
+    @Test
+    void get_EvictValueLoadedWhileWriteChangedIt() {
+        CacheDependencyTracker realTracker = new CacheDependencyTracker();
+        DependencyTrackingCache cache = new DependencyTrackingCache(new ConcurrentMapCache("booksByAuthor"), realTracker);
+
+        String result = cache.get("Joshua Bloch", () -> {
+            // write commits after the query read old data, nothing is registered yet
+            realTracker.recordInvalidation(List.of(EntityKey.book(1L)), null);
+            return new QueryResult<>("Java", Set.of(EntityKey.book(1L)), null);
+        }).value();
+
+        assertEquals("Java", result);
+        assertNull(cache.get("Joshua Bloch"));
+        assertTrue(realTracker.getDependents(EntityKey.book(1L)).isEmpty());
+    }
+
+    @Test
+    void get_KeepValueLoadedWhileUnrelatedWrite() {
+        CacheDependencyTracker realTracker = new CacheDependencyTracker();
+        DependencyTrackingCache cache = new DependencyTrackingCache(new ConcurrentMapCache("booksByReviewCount"),
+                realTracker);
+
+        cache.get(5L, () -> {
+            realTracker.recordInvalidation(List.of(EntityKey.book(2L)), ValueRange.reviewCount(1, 2));
+            return new QueryResult<>("Java", Set.of(EntityKey.book(1L)), ValueRange.reviewCount(6, 10));
+        });
+
+        assertNotNull(cache.get(5L));
+    }
+}
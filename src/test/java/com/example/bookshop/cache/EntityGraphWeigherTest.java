@@ -0,0 +1,60 @@
+package com.example.bookshop.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import com.example.bookshop.model.Author;
+import com.example.bookshop.model.Book;
+import com.example.bookshop.model.Review;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+class EntityGraphWeigherTest {
+
+    private final EntityGraphWeigher weigher = new EntityGraphWeigher();
+
+    @Test
+    void weigh_CountRelationsOfTheBook() {
+        Book book = new Book();
+        book.setTitle("Java");
+        int withoutRelations = weigher.weigh(1L, book);
+
+        Author author = new Author();
+        author.setName("Joshua Bloch");
+        Review review = new Review();
+        review.setMessage("Interesting book");
+        book.setAuthors(List.of(author));
+        book.setReviews(List.of(review));
+
+        assertTrue(weigher.weigh(1L, book) > withoutRelations);
+    }
+
+    @Test
+    void weigh_GrowWithAmountOfBooksOfTheAuthor() {
+        Book book = new Book();
+        book.setTitle("Java");
+        Author author = new Author();
+        author.setName("Joshua Bloch");
+
+        author.setBooks(List.of(book));
+        int oneBook = weigher.weigh(1L, author);
+        author.setBooks(List.of(book, book, book));
+
+        assertTrue(weigher.weigh(1L, author) > oneBook);
+    }
+
+    @Test
+    void weigh_NotFollowRelationsOfRelatedEntities() {
+        Book book = new Book();
+        book.setTitle("Java");
+        Author author = new Author();
+        author.setName("Joshua Bloch");
+        author.setBooks(List.of(book));
+        book.setAuthors(List.of(author));
+
+        assertDoesNotThrow(() -> weigher.weigh(1L, book));
+    }
+
+    @Test
+    void weigh_UseLengthOfByteArray() {
+        assertTrue(weigher.weigh("key", new byte[10_000]) > 10_000);
+    }
+}
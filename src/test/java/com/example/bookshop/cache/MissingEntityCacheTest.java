@@ -0,0 +1,29 @@
+package com.example.bookshop.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class MissingEntityCacheTest {
+
+    private final ConcurrentMapCacheManager cacheManager =
+            new ConcurrentMapCacheManager("missingBooks", "missingAuthors");
+    private final MissingEntityCache missingEntityCache = new MissingEntityCache(cacheManager);
+
+    @Test
+    void markMissing_RememberIdOfTheSameType() {
+        missingEntityCache.markMissing(EntityKey.book(5L));
+
+        assertTrue(missingEntityCache.isMissing(EntityKey.book(5L)));
+        assertFalse(missingEntityCache.isMissing(EntityKey.author(5L)));
+        assertFalse(missingEntityCache.isMissing(EntityKey.book(6L)));
+    }
+
+    @Test
+    void isMissing_ForgetEvictedId() {
+        missingEntityCache.markMissing(EntityKey.author(3L));
+        cacheManager.getCache("missingAuthors").evict(3L);
+
+        assertFalse(missingEntityCache.isMissing(EntityKey.author(3L)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.bookshop.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+class SecondLevelCacheStatisticsTest {
+
+    private final Statistics statistics = mock(Statistics.class);
+    private final CacheRegionStatistics region = mock(CacheRegionStatistics.class);
+
+    private SecondLevelCacheStatistics secondLevelCacheStatistics() {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[] {"book"});
+        when(statistics.getCacheRegionStatistics("book")).thenReturn(region);
+        return new SecondLevelCacheStatistics(entityManagerFactory);
+    }
+
+    @Test
+    void bindTo_RegisterRequestsAndPutsOfRegionsAndQueries() {
+        SecondLevelCacheStatistics secondLevelCacheStatistics = secondLevelCacheStatistics();
+        when(region.getHitCount()).thenReturn(5L);
+        when(region.getMissCount()).thenReturn(2L);
+        when(region.getPutCount()).thenReturn(3L);
+        when(statistics.getQueryCacheHitCount()).thenReturn(7L);
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        secondLevelCacheStatistics.bindTo(registry);
+
+        assertAll(
+                () -> assertEquals(5, registry.get("hibernate.second.level.cache.requests")
+                        .tag("region", "book").tag("result", "hit").functionCounter().count()),
+                () -> assertEquals(2, registry.get("hibernate.second.level.cache.requests")
+                        .tag("region", "book").tag("result", "miss").functionCounter().count()),
+                () -> assertEquals(3, registry.get("hibernate.second.level.cache.puts")
+                        .tag("region", "book").functionCounter().count()),
+                () -> assertEquals(7, registry.get("hibernate.cache.query.requests")
+                        .tag("result", "hit").functionCounter().count())
+        );
+    }
+
+    @Test
+    void getRegionStatistics_OmitUnknownElementCount() {
+        SecondLevelCacheStatistics secondLevelCacheStatistics = secondLevelCacheStatistics();
+        when(region.getHitCount()).thenReturn(5L);
+        when(region.getElementCountInMemory()).thenReturn(Long.MIN_VALUE);
+
+        Map<String, Long> book = secondLevelCacheStatistics.getRegionStatistics().get("book");
+
+        assertEquals(5L, book.get("hits"));
+        assertFalse(book.containsKey("elementsInMemory"));
+    }
+}
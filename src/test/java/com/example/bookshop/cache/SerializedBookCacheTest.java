@@ -0,0 +1,70 @@
+package com.example.bookshop.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import com.example.bookshop.exception.ResourceNotFoundException;
+import com.example.bookshop.model.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+class SerializedBookCacheTest {
+
+    private final CacheDependencyTracker tracker = mock(CacheDependencyTracker.class);
+    private final SerializedBookCache serializedBookCache = new SerializedBookCache(
+            new ConcurrentMapCacheManager("bookJson"), tracker, new ObjectMapper());
+
+    @Test
+    void get_SerializeBookOnlyOnce() {
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("Java");
+        AtomicInteger loads = new AtomicInteger();
+
+        SerializedBook first = serializedBookCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return book;
+        });
+        SerializedBook second = serializedBookCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return book;
+        });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"title\":\"Java\""));
+        assertNull(first.gzip());
+        verify(tracker).findEntities(book);
+    }
+
+    @Test
+    void get_RethrowExceptionOfLoader() {
+        ResourceNotFoundException notFound = new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Book not found");
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> serializedBookCache.get(404L, () -> {
+                    throw notFound;
+                }));
+
+        assertSame(notFound, exception);
+    }
+
+    @Test
+    void serialize_GzipLargeJsonAndStampVersion() throws Exception {
+        Book book = new Book();
+        book.setTitle("Java ".repeat(500));
+
+        SerializedBook serialized = serializedBookCache.serialize(book);
+
+        try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(serialized.gzip()))) {
+            assertArrayEquals(serialized.json(), gzipStream.readAllBytes());
+        }
+        assertEquals(serializedBookCache.serialize(book).etag(), serialized.etag());
+        assertTrue(serialized.etag().startsWith("\""));
+    }
+}
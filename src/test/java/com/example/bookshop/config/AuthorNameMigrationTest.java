@@ -0,0 +1,54 @@
+package com.example.bookshop.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+class AuthorNameMigrationTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:authorNameMigration", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE author (id BIGINT PRIMARY KEY, name VARCHAR(100), "
+                + "normalized_name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE book_author (book_id BIGINT, author_id BIGINT)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void migrate_MergeDuplicatesBeforeAddingConstraint() {
+        jdbcTemplate.execute("INSERT INTO author (id, name) VALUES "
+                + "(1, 'Joshua Bloch'), (2, ' joshua  BLOCH'), (3, 'Joshua Bloch'), (4, 'Brian Goetz')");
+        jdbcTemplate.execute("INSERT INTO book_author VALUES (10, 1), (10, 2), (11, 2), (11, 3), (12, 3), (12, 4)");
+
+        AuthorNameMigration migration = new AuthorNameMigration(jdbcTemplate);
+        migration.migrate();
+        // restart runs it again
+        migration.migrate();
+
+        assertEquals(List.of(1L, 4L), jdbcTemplate.queryForList("SELECT id FROM author ORDER BY id", Long.class));
+        List<Map<String, Object>> links = jdbcTemplate.queryForList(
+                "SELECT book_id, author_id FROM book_author ORDER BY book_id, author_id");
+        assertEquals(List.of(
+                Map.of("BOOK_ID", 10L, "AUTHOR_ID", 1L),
+                Map.of("BOOK_ID", 11L, "AUTHOR_ID", 1L),
+                Map.of("BOOK_ID", 12L, "AUTHOR_ID", 1L),
+                Map.of("BOOK_ID", 12L, "AUTHOR_ID", 4L)), links);
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO author (id, name, normalized_name) VALUES (5, 'Joshua Bloch', 'joshua bloch')"));
+    }
+}
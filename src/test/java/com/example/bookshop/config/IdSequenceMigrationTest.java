@@ -0,0 +1,53 @@
+package com.example.bookshop.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+class IdSequenceMigrationTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:idSequenceMigration", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String table : new String[] {"book", "author", "review"}) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY)");
+            jdbcTemplate.execute("CREATE SEQUENCE " + table + "_seq START WITH 1 INCREMENT BY 50");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void alignSequences_MoveSequenceBehindGreatestId() {
+        jdbcTemplate.execute("INSERT INTO book VALUES (120)");
+
+        new IdSequenceMigration(jdbcTemplate).alignSequences();
+
+        assertEquals(170L, nextValue("book_seq"));
+    }
+
+    @Test
+    void alignSequences_KeepSequenceWhichIsAhead() {
+        jdbcTemplate.execute("INSERT INTO author VALUES (120)");
+        // other instance already took blocks up to 1000
+        jdbcTemplate.execute("ALTER SEQUENCE author_seq RESTART WITH 1001");
+
+        new IdSequenceMigration(jdbcTemplate).alignSequences();
+
+        assertEquals(1001L, nextValue("author_seq"));
+    }
+
+    private Long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+    }
+}
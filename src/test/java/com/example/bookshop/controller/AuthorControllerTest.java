@@ -77,10 +77,12 @@ class AuthorControllerTest {
         Author author = new Author();
         author.setName("John Doe");
 
-        when(authorService.findById(1L, 1L)).thenReturn(author);
+        when(authorService.findById(1L)).thenReturn(author);
 
         mockMvc.perform(get("/books/1/authors/1"))
                 .andExpect(status().isOk());
+
+        verify(authorService).checkBookAuthor(1L, 1L);
     }
 
     @Test
@@ -104,8 +106,8 @@ class AuthorControllerTest {
 
     @Test
     void getAuthorById_NonExistingId_ReturnsNotFound() {
-        when(authorService.findById(999L, 1L))
-                .thenThrow(new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Author not found"));
+        doThrow(new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Author not found"))
+                .when(authorService).checkBookAuthor(999L, 1L);
 
         assertThrows(ResourceNotFoundException.class, () -> authorController.findByBookId(999L, 1L));
     }
@@ -0,0 +1,42 @@
+package com.example.bookshop.controller;
+
+import com.example.bookshop.dto.AuthorSuggestionDto;
+import com.example.bookshop.service.AuthorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import java.util.List;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorSuggestionControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private AuthorService authorService;
+    @InjectMocks
+    private AuthorSuggestionController authorSuggestionController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(authorSuggestionController).build();
+    }
+
+    @Test
+    void suggest_ValidRequest_ReturnsSuggestions() throws Exception {
+        when(authorService.suggest("jos", 10)).thenReturn(List.of(new AuthorSuggestionDto(1L, "Joshua Bloch")));
+
+        mockMvc.perform(get("/authors/suggest?prefix=jos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Joshua Bloch"));
+    }
+}
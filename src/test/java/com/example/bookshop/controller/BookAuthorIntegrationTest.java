@@ -0,0 +1,103 @@
+package com.example.bookshop.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookAuthorIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long createBook(String title, String authorName) throws Exception {
+        String response = mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"" + title + "\", \"authors\": [{\"name\": \"" + authorName + "\"}]}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode book = objectMapper.readTree(response);
+        return book.get("id").asLong();
+    }
+
+    @Test
+    void createBook_SaveBookWithNewAndExistingAuthor() throws Exception {
+        createBook("Effective Java", "Integration Author");
+        long bookId = createBook("Java Puzzlers", "Integration Author");
+
+        mockMvc.perform(get("/books/find").param("authorName", "Integration Author"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/books/" + bookId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authors[0].name").value("Integration Author"));
+    }
+
+    @Test
+    void createAuthor_AddNewAndExistingAuthorToBook() throws Exception {
+        long bookId = createBook("Java Concurrency in Practice", "Brian Goetz");
+        long otherBookId = createBook("Clean Code", "Robert Martin");
+
+        mockMvc.perform(post("/books/" + bookId + "/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Doug Lea\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/books/" + otherBookId + "/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Brian Goetz\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/books/find").param("authorName", "Brian Goetz"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void getBookById_AnswerNotFoundForMissingAndDeletedBook() throws Exception {
+        long bookId = createBook("Refactoring", "Martin Fowler");
+
+        mockMvc.perform(get("/books/999999"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/books/" + bookId))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/books/" + bookId))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(get("/books/" + bookId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteAuthor_ReadBookWithReviewsAfterAuthorIsRemoved() throws Exception {
+        long bookId = createBook("Domain-Driven Design", "Eric Evans");
+        // author keeps another book, so it isn't deleted together with cached entries of the book
+        long otherBookId = createBook("Domain-Driven Design Reference", "Eric Evans");
+        String response = mockMvc.perform(get("/books/" + otherBookId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long authorId = objectMapper.readTree(response).get("authors").get(0).get("id").asLong();
+        mockMvc.perform(post("/books/" + bookId + "/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Vaughn Vernon\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/books/" + bookId + "/authors/" + authorId))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/books/" + bookId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authors.length()").value(1))
+                .andExpect(jsonPath("$.reviews").isArray());
+    }
+}
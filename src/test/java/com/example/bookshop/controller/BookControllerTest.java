@@ -1,10 +1,16 @@
 package com.example.bookshop.controller;
 
+import com.example.bookshop.cache.SerializedBook;
+import com.example.bookshop.cache.SerializedBookCache;
 import com.example.bookshop.dto.BookDto;
+import com.example.bookshop.dto.BookImportResultDto;
+import com.example.bookshop.dto.BookPageDto;
+import com.example.bookshop.dto.BookSearchPageDto;
+import com.example.bookshop.dto.BookTitleDto;
 import com.example.bookshop.mapper.BookMapper;
-import com.example.bookshop.model.Author;
 import com.example.bookshop.model.Book;
-import com.example.bookshop.model.Review;
+import com.example.bookshop.service.BookExportService;
+import com.example.bookshop.service.BookImportService;
 import com.example.bookshop.service.BookService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -18,9 +24,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Arrays;
 import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookController.class)
@@ -35,38 +45,74 @@ class BookControllerTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private BookImportService bookImportService;
+
+    @Autowired
+    private SerializedBookCache serializedBookCache;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Configuration
     static class TestConfiguration {
         @Bean
         public BookController bookController() {
-            return new BookController(bookService(), bookMapper());
+            return new BookController(bookService(), bookExportService(), bookImportService(),
+                    serializedBookCache());
         }
 
         @Bean
-        public BookService bookService() {
-            return mock(BookService.class);
+        public SerializedBookCache serializedBookCache() {
+            return mock(SerializedBookCache.class);
         }
 
         @Bean
-        public BookMapper bookMapper() {
-            return mock(BookMapper.class);
+        public BookImportService bookImportService() {
+            return mock(BookImportService.class);
         }
+
+        @Bean
+        public BookExportService bookExportService() {
+            return mock(BookExportService.class);
+        }
+
+        @Bean
+        public BookService bookService() {
+            return mock(BookService.class);
+        }
+
     }
 
     @Test
-    void getBookById_ValidRequest_ReturnsBookDto() throws Exception {
-        Book book = new Book();
-        book.setTitle("Java");
-        BookDto bookDto = new BookDto();
-        bookDto.setTitle("Java");
-
-        when(bookService.findById(1L)).thenReturn(book);
-        when(bookMapper.toDto(book)).thenReturn(bookDto);
+    void getBookById_ValidRequest_ReturnsCachedJson() throws Exception {
+        when(serializedBookCache.get(eq(1L), any())).thenReturn(
+                new SerializedBook("{\"title\":\"Java\"}".getBytes(), null, "\"abc\""));
 
         mockMvc.perform(get("/books/1"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(content().json("{\"title\":\"Java\"}"));
+    }
+
+    @Test
+    void getBookById_SameEtag_ReturnsNotModified() throws Exception {
+        when(serializedBookCache.get(eq(1L), any())).thenReturn(
+                new SerializedBook("{}".getBytes(), null, "\"abc\""));
+
+        mockMvc.perform(get("/books/1").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getBookById_AcceptGzip_ReturnsCompressedJson() throws Exception {
+        byte[] gzip = {31, -117, 8};
+        when(serializedBookCache.get(eq(1L), any())).thenReturn(
+                new SerializedBook("{}".getBytes(), gzip, "\"abc\""));
+
+        mockMvc.perform(get("/books/1").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(content().bytes(gzip));
     }
 
     @Test
@@ -98,14 +144,38 @@ class BookControllerTest {
     }
 
     @Test
-    void getBooksByAuthorName_ValidRequest_ReturnsBookDto() throws Exception {
+    void getBooksPage_ValidRequest_ReturnsPage() throws Exception {
         Book book = new Book();
+        book.setId(1L);
         book.setTitle("Java");
-        Author author = new Author();
-        author.setName("John");
-        book.setAuthors(List.of(author));
 
-        when(bookService.findByAuthorName("John")).thenReturn(List.of(book));
+        when(bookService.findBooksAfter(0L, 20)).thenReturn(new BookPageDto(List.of(book), null));
+
+        mockMvc.perform(get("/books/page?after=0&limit=20"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void searchBooks_ValidRequest_ReturnsPage() throws Exception {
+        when(bookService.searchByTitle("java", 0, 20))
+                .thenReturn(new BookSearchPageDto(List.of(new BookTitleDto(1L, "Java")), 1));
+
+        mockMvc.perform(get("/books/search?query=java"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void exportBooks_ValidRequest_StartsStreaming() throws Exception {
+        mockMvc.perform(get("/books/export?gzip=true"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void getBooksByAuthorName_ValidRequest_ReturnsBookDto() throws Exception {
+        BookDto bookDto = new BookDto();
+        bookDto.setTitle("Java");
+
+        when(bookService.findByAuthorName("John")).thenReturn(List.of(bookDto));
 
         mockMvc.perform(get("/books/find?authorName=John"))
                 .andExpect(status().isOk());
@@ -113,12 +183,10 @@ class BookControllerTest {
 
     @Test
     void getBooksByReviewCount_ValidRequest_ReturnsBookDto() throws Exception {
-        Book book = new Book();
-        book.setTitle("Java");
-        Review review = new Review();
-        book.setReviews(List.of(review));
+        BookDto bookDto = new BookDto();
+        bookDto.setTitle("Java");
 
-        when(bookService.findByReviewCount(0L)).thenReturn(List.of(book));
+        when(bookService.findByReviewCount(0L, 0, 20)).thenReturn(List.of(bookDto));
 
         mockMvc.perform(get("/books/find/reviews?reviewCount=0"))
                 .andExpect(status().isOk());
@@ -137,6 +205,21 @@ class BookControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void createBooks_ValidRequest_ReturnsImportResults() throws Exception {
+        Book book = new Book();
+        book.setTitle("Spring");
+        BookImportResultDto result = new BookImportResultDto(0, "Spring", "CREATED");
+        result.setId(1L);
+
+        when(bookImportService.importBooks(anyList())).thenReturn(List.of(result));
+
+        mockMvc.perform(post("/books/b")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(book))))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void updateBook_ValidRequest_ReturnsBook() throws Exception {
         Book updatedBook = new Book();
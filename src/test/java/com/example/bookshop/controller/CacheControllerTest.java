@@ -0,0 +1,72 @@
+package com.example.bookshop.controller;
+
+import com.example.bookshop.cache.CacheInvalidator;
+import com.example.bookshop.cache.CacheStatistics;
+import com.example.bookshop.cache.SecondLevelCacheStatistics;
+import com.example.bookshop.dto.CacheStatisticsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import java.util.Map;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class CacheControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+    @Mock
+    private SecondLevelCacheStatistics secondLevelCacheStatistics;
+    @Mock
+    private CacheStatistics cacheStatistics;
+    @InjectMocks
+    private CacheController cacheController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(cacheController).build();
+    }
+
+    @Test
+    void getInvalidations_ReturnsCounters() throws Exception {
+        when(cacheInvalidator.getCounters()).thenReturn(
+                Map.of("author.update", Map.of("writes", 1L, "evictedEntries", 3L)));
+
+        mockMvc.perform(get("/cache/invalidations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['author.update'].evictedEntries").value(3));
+    }
+
+    @Test
+    void getRegions_ReturnsRegionStatistics() throws Exception {
+        when(secondLevelCacheStatistics.getRegionStatistics()).thenReturn(
+                Map.of("book", Map.of("hits", 5L)));
+
+        mockMvc.perform(get("/cache/regions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.book.hits").value(5));
+    }
+
+    @Test
+    void getStatistics_ReturnsCacheStatistics() throws Exception {
+        when(cacheStatistics.getStatistics()).thenReturn(Map.of("books",
+                new CacheStatisticsDto(8, 2, 0.8, 2, 1.5, 3, Map.of("SIZE", 1L), 7)));
+
+        mockMvc.perform(get("/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books.hitRatio").value(0.8))
+                .andExpect(jsonPath("$.books.coalescedRequests").value(3))
+                .andExpect(jsonPath("$.books.evictions.SIZE").value(1))
+                .andExpect(jsonPath("$.books.estimatedSize").value(7));
+    }
+}
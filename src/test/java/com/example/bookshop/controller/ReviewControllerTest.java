@@ -1,11 +1,9 @@
 package com.example.bookshop.controller;
 
-import com.example.bookshop.mapper.ReviewMapper;
 import com.example.bookshop.model.Review;
 import com.example.bookshop.service.ReviewService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Bean;
@@ -15,6 +13,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Arrays;
 import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -26,7 +25,7 @@ class ReviewControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
-    @Mock
+    @Autowired
     private ReviewService reviewService;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -35,18 +34,13 @@ class ReviewControllerTest {
     static class TestConfiguration {
         @Bean
         public ReviewController reviewController() {
-            return new ReviewController(reviewService(), reviewMapper());
+            return new ReviewController(reviewService());
         }
 
         @Bean
         public ReviewService reviewService() {
             return mock(ReviewService.class);
         }
-
-        @Bean
-        public ReviewMapper reviewMapper() {
-            return mock(ReviewMapper.class);
-        }
     }
 
     @Test
@@ -119,7 +113,7 @@ class ReviewControllerTest {
         review2.setMessage("Nice to read");
         List<Review> reviews = List.of(review1, review2);
 
-        when(reviewService.createReview(eq(1L), any(Review.class)))
+        when(reviewService.createReviews(eq(1L), anyList()))
                 .thenAnswer(inv -> inv.getArgument(1));
 
         mockMvc.perform(post("/books/1/reviews/b")
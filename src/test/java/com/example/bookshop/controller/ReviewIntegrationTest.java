@@ -0,0 +1,61 @@
+package com.example.bookshop.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReviewIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long create(String url, String content) throws Exception {
+        String response = mockMvc.perform(post(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode created = objectMapper.readTree(response);
+        return created.get("id").asLong();
+    }
+
+    @Test
+    void deleteReview_RemoveOnlyReviewOfTheBook() throws Exception {
+        long bookId = create("/books", "{\"title\": \"Working Effectively with Legacy Code\", "
+                + "\"authors\": [{\"name\": \"Michael Feathers\"}]}");
+        long otherBookId = create("/books", "{\"title\": \"Release It\", "
+                + "\"authors\": [{\"name\": \"Michael Nygard\"}]}");
+        long reviewId = create("/books/" + bookId + "/reviews", "{\"message\": \"Useful book\"}");
+        create("/books/" + bookId + "/reviews", "{\"message\": \"Long book\"}");
+        // reviews of the book are cached before the delete
+        mockMvc.perform(get("/books/" + bookId + "/reviews"))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(delete("/books/" + otherBookId + "/reviews/" + reviewId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/books/" + bookId + "/reviews/" + reviewId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/books/" + bookId + "/reviews"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].message").value("Long book"));
+        mockMvc.perform(get("/books/" + bookId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews.length()").value(1))
+                .andExpect(jsonPath("$.reviewCount").value(1));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.bookshop.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import com.example.bookshop.dto.AuthorSuggestionDto;
+import com.example.bookshop.repository.AuthorNameView;
+import com.example.bookshop.repository.AuthorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorNameIndexTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @InjectMocks
+    private AuthorNameIndex authorNameIndex;
+
+    @Test
+    void findId_ReturnLoadedAuthorWithoutQuery() {
+        AuthorNameView author = mock(AuthorNameView.class);
+        when(author.getId()).thenReturn(1L);
+        when(author.getName()).thenReturn("Joshua Bloch");
+        when(authorRepository.findAllNames()).thenReturn(List.of(author));
+
+        authorNameIndex.load();
+
+        assertEquals(Optional.of(1L), authorNameIndex.findId("Joshua Bloch"));
+        assertEquals(Optional.of(1L), authorNameIndex.findId(" joshua  BLOCH "));
+        verify(authorRepository, never()).findByNormalizedName(anyString());
+    }
+
+    @Test
+    void findId_ReturnEmptyForUnknownName() {
+        assertTrue(authorNameIndex.findId("Unknown Author").isEmpty());
+    }
+
+    @Test
+    void findId_AskDatabaseForRemovedName() {
+        authorNameIndex.put("Joshua Bloch", 1L);
+        authorNameIndex.remove("Joshua Bloch", 1L);
+        when(authorRepository.findByNormalizedName("joshua bloch")).thenReturn(Optional.empty());
+
+        assertTrue(authorNameIndex.findId("Joshua Bloch").isEmpty());
+        verify(authorRepository).findByNormalizedName("joshua bloch");
+    }
+
+    @Test
+    void suggest_ReturnAuthorsStartingWithPrefixInOrder() {
+        authorNameIndex.put("Joshua Bloch", 1L);
+        authorNameIndex.put("John Doe", 2L);
+        authorNameIndex.put("Josh Long", 3L);
+        authorNameIndex.put("Brian Goetz", 4L);
+
+        List<AuthorSuggestionDto> result = authorNameIndex.suggest(" JOS", 10);
+
+        assertEquals(List.of(3L, 1L), result.stream().map(AuthorSuggestionDto::getId).toList());
+        assertEquals("Josh Long", result.get(0).getName());
+    }
+
+    @Test
+    void suggest_ReturnNoMoreThanLimit() {
+        authorNameIndex.put("Josh Long", 1L);
+        authorNameIndex.put("Joshua Bloch", 2L);
+
+        assertEquals(1, authorNameIndex.suggest("jo", 1).size());
+    }
+
+    @Test
+    void suggest_SkipRemovedAuthor() {
+        authorNameIndex.put("Joshua Bloch", 1L);
+        authorNameIndex.remove("Joshua Bloch", 1L);
+
+        assertTrue(authorNameIndex.suggest("jos", 10).isEmpty());
+    }
+}
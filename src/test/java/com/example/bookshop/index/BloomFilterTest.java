@@ -0,0 +1,36 @@
+package com.example.bookshop.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_TrueForAddedValues() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("Author " + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("Author " + i));
+        }
+    }
+
+    @Test
+    void mightContain_MostlyFalseForMissingValues() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("Author " + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("Missing " + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 500);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bookshop.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import com.example.bookshop.dto.BookSearchPageDto;
+import com.example.bookshop.dto.BookTitleDto;
+import com.example.bookshop.repository.BookRepository;
+import com.example.bookshop.repository.BookTitleView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class BookTitleIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private BookTitleIndex bookTitleIndex;
+
+    @Test
+    void search_ReturnLoadedBooks() {
+        BookTitleView book = mock(BookTitleView.class);
+        when(book.getId()).thenReturn(1L);
+        when(book.getTitle()).thenReturn("Effective Java");
+        when(bookRepository.findAllTitles()).thenReturn(List.of(book));
+
+        bookTitleIndex.load();
+        BookSearchPageDto result = bookTitleIndex.search("JAVA", 0, 10);
+
+        assertEquals(1, result.getTotal());
+        assertEquals("Effective Java", result.getBooks().get(0).getTitle());
+    }
+
+    @Test
+    void search_RankExactPrefixWordStartAndInsideWordMatches() {
+        bookTitleIndex.put(1L, "Scalajava Puzzlers");
+        bookTitleIndex.put(2L, "Effective Java");
+        bookTitleIndex.put(3L, "Java Concurrency in Practice");
+        bookTitleIndex.put(4L, "Java");
+        bookTitleIndex.put(5L, "Python");
+
+        BookSearchPageDto result = bookTitleIndex.search("java", 0, 10);
+
+        assertEquals(4, result.getTotal());
+        assertEquals(List.of(4L, 3L, 2L, 1L), result.getBooks().stream().map(BookTitleDto::getId).toList());
+    }
+
+    @Test
+    void search_ReturnRequestedPage() {
+        bookTitleIndex.put(1L, "Java 1");
+        bookTitleIndex.put(2L, "Java 2");
+        bookTitleIndex.put(3L, "Java 3");
+
+        BookSearchPageDto result = bookTitleIndex.search("java", 1, 2);
+
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(3L), result.getBooks().stream().map(BookTitleDto::getId).toList());
+    }
+
+    @Test
+    void search_RequireWholeSubstringNotOnlyTrigrams() {
+        bookTitleIndex.put(1L, "abcd bcde");
+
+        assertEquals(0, bookTitleIndex.search("abcde", 0, 10).getTotal());
+    }
+
+    @Test
+    void put_ReplaceTitleOfUpdatedBook() {
+        bookTitleIndex.put(1L, "Java");
+        bookTitleIndex.put(1L, "Kotlin");
+
+        assertEquals(0, bookTitleIndex.search("java", 0, 10).getTotal());
+        assertEquals(1, bookTitleIndex.search("kotlin", 0, 10).getTotal());
+    }
+
+    @Test
+    void remove_ForgetDeletedBook() {
+        bookTitleIndex.put(1L, "Java");
+        bookTitleIndex.remove(1L);
+
+        assertEquals(0, bookTitleIndex.search("java", 0, 10).getTotal());
+    }
+
+    @Test
+    void search_ReturnNothingForShortQuery() {
+        bookTitleIndex.put(1L, "Go");
+
+        assertEquals(0, bookTitleIndex.search("go", 0, 10).getTotal());
+    }
+}
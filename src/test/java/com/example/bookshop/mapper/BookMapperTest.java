@@ -10,6 +10,8 @@ import com.example.bookshop.dto.ReviewDto;
 import com.example.bookshop.model.Author;
 import com.example.bookshop.model.Book;
 import com.example.bookshop.model.Review;
+import com.example.bookshop.repository.BookAttributeView;
+import com.example.bookshop.repository.BookTitleView;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -89,4 +91,30 @@ class BookMapperTest {
         assertTrue(dto.getAuthors().isEmpty());
         assertTrue(dto.getReviews().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void toDtos_GroupAuthorsAndReviewsByBook() {
+        BookTitleView book1 = mock(BookTitleView.class);
+        when(book1.getId()).thenReturn(1L);
+        when(book1.getTitle()).thenReturn("Java");
+        BookTitleView book2 = mock(BookTitleView.class);
+        when(book2.getId()).thenReturn(2L);
+        when(book2.getTitle()).thenReturn("Kotlin");
+        BookAttributeView author = mock(BookAttributeView.class);
+        when(author.getBookId()).thenReturn(2L);
+        when(author.getAttributeValue()).thenReturn("Dmitry Jemerov");
+        BookAttributeView review = mock(BookAttributeView.class);
+        when(review.getBookId()).thenReturn(1L);
+        when(review.getAttributeValue()).thenReturn("Masterpiece");
+
+        List<BookDto> dtos = bookMapper.toDtos(List.of(book1, book2), List.of(author), List.of(review));
+
+        assertEquals("Java", dtos.get(0).getTitle());
+        assertTrue(dtos.get(0).getAuthors().isEmpty());
+        assertEquals("Masterpiece", dtos.get(0).getReviews().getFirst().getMessage());
+        assertEquals("Kotlin", dtos.get(1).getTitle());
+        assertEquals("Dmitry Jemerov", dtos.get(1).getAuthors().getFirst().getName());
+        assertTrue(dtos.get(1).getReviews().isEmpty());
+        verifyNoInteractions(authorMapper, reviewMapper);
+    }
+}
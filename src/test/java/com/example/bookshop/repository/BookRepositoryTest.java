@@ -0,0 +1,65 @@
+package com.example.bookshop.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.example.bookshop.model.Book;
+import java.util.Optional;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+class BookRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void save_KeepsReviewCounterChangedAfterRead() {
+        Book book = new Book();
+        book.setTitle("Java");
+        Long id = entityManager.persistAndFlush(book).getId();
+        entityManager.clear();
+
+        // book is read for update the way BookService.update does it
+        Book existsBook = bookRepository.findById(id).orElseThrow();
+        entityManager.clear();
+
+        // review is created before the update is saved
+        bookRepository.adjustReviewCount(id, 1);
+
+        Book update = new Book();
+        update.setId(id);
+        update.setTitle("Effective Java");
+        update.setAuthors(existsBook.getAuthors());
+        update.setReviews(existsBook.getReviews());
+        update.setReviewCount(existsBook.getReviewCount());
+        bookRepository.saveAndFlush(update);
+        entityManager.clear();
+
+        assertEquals(Optional.of(1L), bookRepository.findReviewCountById(id));
+        assertEquals("Effective Java", bookRepository.findById(id).orElseThrow().getTitle());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findLoadedById_ReadCollectionsOfBookFromSecondLevelCache() {
+        Book book = new Book();
+        book.setTitle("Java");
+        // without transaction of the test the book is put into second-level cache and read from it
+        Long id = bookRepository.save(book).getId();
+
+        Book loadedBook = bookRepository.findLoadedById(id).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(loadedBook.getAuthors()));
+        assertTrue(Hibernate.isInitialized(loadedBook.getReviews()));
+        bookRepository.deleteById(id);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.bookshop.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import com.example.bookshop.model.Book;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class BookReviewCountRepositoryImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    private BookReviewCountRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        repository = new BookReviewCountRepositoryImpl(jdbcTemplate, entityManagerFactory);
+    }
+
+    @Test
+    void adjustReviewCount_EvictsOnlyChangedBook() {
+        when(jdbcTemplate.update(anyString(), eq(2L), eq(1L))).thenReturn(1);
+
+        int updated = repository.adjustReviewCount(1L, 2);
+
+        assertEquals(1, updated);
+        verify(cache).evict(Book.class, 1L);
+        verify(cache, never()).evict(Book.class);
+        verify(cache, never()).evictAll();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import com.example.bookshop.model.LogObj;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncLogServiceTest {
+
+    @Mock
+    private LogSearchService logSearchService;
+
+    @Mock
+    private Cache logsCache;
+
+    @InjectMocks
+    private AsyncLogService asyncLogService;
+
+    @Test
+    void queryLogs_MarkTaskFailedWhenRegexOverflowsStack() throws IOException {
+        LogQuery query = new LogQuery(null, null, null, null, null);
+        when(logSearchService.query(any(), any(), any())).thenThrow(new StackOverflowError());
+
+        asyncLogService.queryLogs(1L, query, logsCache);
+
+        assertEquals("FAILED", savedTask().getStatus());
+    }
+
+    @Test
+    void queryLogs_MarkTaskFailedOnUnexpectedException() throws IOException {
+        LogQuery query = new LogQuery(null, null, null, null, null);
+        when(logSearchService.query(any(), any(), any())).thenThrow(new IllegalStateException("closed"));
+
+        asyncLogService.queryLogs(1L, query, logsCache);
+
+        LogObj task = savedTask();
+        assertEquals("FAILED", task.getStatus());
+        assertTrue(task.getErrorMessage().contains("closed"));
+    }
+
+    @Test
+    void queryLogs_MarkTaskFailedWhenRegexRunsOutOfTime() throws IOException {
+        LogQuery query = new LogQuery(null, null, null, null, null);
+        when(logSearchService.query(any(), any(), any()))
+                .thenThrow(new LogQueryTimeoutException("Regex took too long to match the log"));
+
+        asyncLogService.queryLogs(1L, query, logsCache);
+
+        LogObj task = savedTask();
+        assertEquals("FAILED", task.getStatus());
+        assertEquals("Regex took too long to match the log", task.getErrorMessage());
+    }
+
+    @Test
+    void queryLogs_LimitTimeOfRegex() throws IOException {
+        LogQuery query = new LogQuery(null, null, null, null, null);
+        ArgumentCaptor<LogQuery> queryCaptor = ArgumentCaptor.forClass(LogQuery.class);
+        when(logSearchService.query(any(), queryCaptor.capture(), any())).thenReturn(0L);
+
+        asyncLogService.queryLogs(1L, query, logsCache);
+
+        assertNotNull(queryCaptor.getValue().deadline());
+    }
+
+    private LogObj savedTask() {
+        ArgumentCaptor<Object> task = ArgumentCaptor.forClass(Object.class);
+        verify(logsCache).put(eq(1L), task.capture());
+        return (LogObj) task.getValue();
+    }
+}
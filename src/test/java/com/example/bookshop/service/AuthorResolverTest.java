@@ -0,0 +1,104 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import com.example.bookshop.index.AuthorNameIndex;
+import com.example.bookshop.model.Author;
+import com.example.bookshop.repository.AuthorNameView;
+import com.example.bookshop.repository.AuthorRepository;
+import jakarta.validation.Validator;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorResolverTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private AuthorNameIndex authorNameIndex;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AuthorResolver authorResolver;
+
+    @Test
+    void resolve_ReturnKnownAuthorWithoutDatabase() {
+        Author author = new Author();
+        author.setName("joshua bloch");
+        AuthorNameView storedAuthor = mockView(7L, "Joshua Bloch");
+
+        when(validator.validate(author)).thenReturn(Set.of());
+        when(authorNameIndex.findAuthor("joshua bloch")).thenReturn(Optional.of(storedAuthor));
+        when(authorRepository.getReferenceById(7L)).thenReturn(reference(7L));
+
+        Author result = authorResolver.resolve(author);
+
+        assertEquals(7L, result.getId());
+        verify(authorRepository, never()).upsertByName(any(), any());
+        verify(authorRepository, never()).findById(any());
+    }
+
+    @Test
+    void resolve_UpsertUnknownAuthor() {
+        Author author = new Author();
+        author.setName(" Joshua  Bloch");
+        AuthorNameView storedAuthor = mockView(7L, " Joshua  Bloch");
+
+        when(validator.validate(author)).thenReturn(Set.of());
+        when(authorNameIndex.findAuthor(" Joshua  Bloch")).thenReturn(Optional.empty());
+        when(authorRepository.upsertByName(" Joshua  Bloch", "joshua bloch")).thenReturn(storedAuthor);
+        when(authorRepository.getReferenceById(7L)).thenReturn(reference(7L));
+
+        Author result = authorResolver.resolve(author);
+
+        assertEquals(7L, result.getId());
+        verify(authorRepository, times(1)).upsertByName(any(), any());
+        verify(authorRepository, never()).findById(any());
+        verify(authorNameIndex).put(" Joshua  Bloch", 7L);
+    }
+
+    @Test
+    void upsert_RetryAfterConcurrentInsertInNewTransaction() {
+        AuthorNameView storedAuthor = mockView(7L, "Joshua Bloch");
+        when(authorRepository.upsertByName("Joshua Bloch", "joshua bloch"))
+                .thenThrow(new DataIntegrityViolationException("Unique index violation"))
+                .thenReturn(storedAuthor);
+
+        assertSame(storedAuthor, authorResolver.upsert("Joshua Bloch"));
+        verify(authorRepository, times(2)).upsertByName("Joshua Bloch", "joshua bloch");
+        // failed attempt is rolled back alone, transaction of the caller isn't joined
+        verify(transactionManager, times(2)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).rollback(any());
+    }
+
+    private static Author reference(Long id) {
+        Author author = new Author();
+        author.setId(id);
+        return author;
+    }
+
+    private static AuthorNameView mockView(Long id, String name) {
+        AuthorNameView view = mock(AuthorNameView.class);
+        lenient().when(view.getId()).thenReturn(id);
+        lenient().when(view.getName()).thenReturn(name);
+        return view;
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.bookshop.service;
 
+import com.example.bookshop.cache.CacheInvalidator;
+import com.example.bookshop.cache.EntityKey;
+import com.example.bookshop.cache.MissingEntityCache;
 import com.example.bookshop.exception.ResourceNotFoundException;
+import com.example.bookshop.index.AuthorNameIndex;
 import com.example.bookshop.model.Author;
 import com.example.bookshop.model.Book;
 import com.example.bookshop.repository.AuthorRepository;
@@ -29,37 +33,111 @@ class AuthorServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private AuthorResolver authorResolver;
+
+    @Mock
+    private AuthorNameIndex authorNameIndex;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private MissingEntityCache missingEntityCache;
+
     @InjectMocks
     private AuthorService authorService;
 
     @Test
-    void findById_ReturnAuthorWhenExistsInBook() {
+    void findById_ReturnAuthorWithoutBook() {
         Long authorId = 1L;
-        Long bookId = 1L;
         Author author = new Author();
+
+        when(authorRepository.findById(authorId)).thenReturn(Optional.of(author));
+
+        assertSame(author, authorService.findById(authorId));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void findById_RejectRememberedMissingAuthorWithoutDatabase() {
+        when(missingEntityCache.isMissing(EntityKey.author(404L))).thenReturn(true);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> authorService.findById(404L));
+
+        assertEquals("Author not found", exception.getMessage());
+        verifyNoInteractions(authorRepository);
+    }
+
+    @Test
+    void checkBookAuthor_PassWhenAuthorExistsInBook() {
+        Author author = new Author();
+        author.setId(1L);
         Book book = new Book();
         book.setAuthors(List.of(author));
 
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
-        when(authorRepository.findById(authorId)).thenReturn(Optional.of(author));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+
+        assertDoesNotThrow(() -> authorService.checkBookAuthor(1L, 1L));
+    }
+
+    @Test
+    void checkBookAuthor_ThrowWhenAuthorIsNotInBook() {
+        Author author = new Author();
+        author.setId(1L);
+        Book book = new Book();
+        book.setAuthors(List.of(author));
+
+        when(bookRepository.findById(2L)).thenReturn(Optional.of(book));
+        when(authorRepository.existsById(3L)).thenReturn(true);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> authorService.checkBookAuthor(3L, 2L));
+
+        assertEquals("Author not found", exception.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verify(missingEntityCache, never()).markMissing(EntityKey.author(3L));
+    }
 
-        Author result = authorService.findById(authorId, bookId);
+    @Test
+    void checkBookAuthor_RememberMissingAuthor() {
+        Book book = new Book();
+        book.setAuthors(List.of());
+
+        when(bookRepository.findById(2L)).thenReturn(Optional.of(book));
+        when(authorRepository.existsById(404L)).thenReturn(false);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> authorService.checkBookAuthor(404L, 2L));
 
-        assertSame(author, result);
-        verify(bookRepository).findById(bookId);
-        verify(authorRepository).findById(authorId);
+        assertEquals("Author not found", exception.getMessage());
+        verify(missingEntityCache).markMissing(EntityKey.author(404L));
     }
 
     @Test
-    void findById_ThrowWhenBookNotFound() {
+    void checkBookAuthor_ThrowWhenBookNotFound() {
         Long bookId = 0L;
         when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-                () -> authorService.findById(1L, bookId));
+                () -> authorService.checkBookAuthor(1L, bookId));
 
         assertEquals("Book not found", exception.getMessage());
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verify(missingEntityCache).markMissing(EntityKey.book(bookId));
+    }
+
+    @Test
+    void checkBookAuthor_RejectRememberedMissingAuthorWithoutDatabase() {
+        when(missingEntityCache.isMissing(EntityKey.book(1L))).thenReturn(false);
+        when(missingEntityCache.isMissing(EntityKey.author(404L))).thenReturn(true);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> authorService.checkBookAuthor(404L, 1L));
+
+        assertEquals("Author not found", exception.getMessage());
+        verifyNoInteractions(bookRepository, authorRepository);
     }
 
     @Test
@@ -71,7 +149,7 @@ class AuthorServiceTest {
         book.setAuthors(List.of(newAuthor));
 
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
-        when(authorRepository.existsByName("New Author")).thenReturn(false);
+        when(authorResolver.resolve(newAuthor)).thenReturn(newAuthor);
         when(authorRepository.save(newAuthor)).thenReturn(newAuthor);
 
         Author result = authorService.save(newAuthor, bookId);
@@ -87,7 +165,11 @@ class AuthorServiceTest {
         Author updatedAuthor = new Author();
         updatedAuthor.setName("Updated Name");
 
-        when(authorRepository.existsById(authorId)).thenReturn(true);
+        Author oldAuthor = new Author();
+        oldAuthor.setId(authorId);
+        oldAuthor.setName("Old Name");
+
+        when(authorRepository.findById(authorId)).thenReturn(Optional.of(oldAuthor));
         when(authorRepository.save(updatedAuthor)).thenReturn(updatedAuthor);
 
         Author result = authorService.update(authorId, updatedAuthor);
@@ -95,6 +177,8 @@ class AuthorServiceTest {
         assertEquals(authorId, result.getId());
         assertEquals("Updated Name", result.getName());
         verify(authorRepository).save(updatedAuthor);
+        verify(authorNameIndex).remove("Old Name", authorId);
+        verify(authorNameIndex).put("Updated Name", authorId);
     }
 
     @Test
@@ -102,7 +186,7 @@ class AuthorServiceTest {
         Long authorId = 0L;
         Author updatedAuthor = new Author();
 
-        when(authorRepository.existsById(authorId)).thenReturn(false);
+        when(authorRepository.findById(authorId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> authorService.update(authorId, updatedAuthor));
     }
@@ -121,14 +205,13 @@ class AuthorServiceTest {
         book.setId(bookId);
         book.setAuthors(new ArrayList<>());
 
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
-        when(authorRepository.existsByName(authorName)).thenReturn(true);
-        when(authorRepository.findByName(authorName)).thenReturn(existingAuthor);
-        when(authorRepository.save(existingAuthor)).thenReturn(existingAuthor);
-
         Author newAuthor = new Author();
         newAuthor.setName(authorName);
 
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        when(authorResolver.resolve(newAuthor)).thenReturn(existingAuthor);
+        when(authorRepository.save(existingAuthor)).thenReturn(existingAuthor);
+
         Author result = authorService.save(newAuthor, bookId);
 
         assertTrue(book.getAuthors().contains(existingAuthor));
@@ -142,7 +225,10 @@ class AuthorServiceTest {
         Long authorId = 1L;
         Long bookId = 1L;
         Author author = new Author();
+        author.setId(authorId);
+        author.setName("Joshua Bloch");
         Book book = new Book();
+        book.setId(bookId);
         book.setAuthors(new ArrayList<>(List.of(author)));
         author.setBooks(new ArrayList<>(List.of(book)));
 
@@ -153,6 +239,7 @@ class AuthorServiceTest {
 
         assertTrue(book.getAuthors().isEmpty());
         verify(authorRepository).delete(author);
+        verify(authorNameIndex).remove("Joshua Bloch", authorId);
     }
 
     @Test
@@ -176,8 +263,8 @@ class AuthorServiceTest {
         book.setAuthors(List.of(existingAuthor));
 
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
-        when(authorRepository.existsByName(authorName)).thenReturn(true);
-        when(authorRepository.findByName(authorName)).thenReturn(existingAuthor);
+        when(authorResolver.resolve(existingAuthor)).thenReturn(existingAuthor);
+        when(authorRepository.save(existingAuthor)).thenReturn(existingAuthor);
 
         authorService.save(existingAuthor, bookId);
 
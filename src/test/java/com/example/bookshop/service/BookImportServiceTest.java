@@ -0,0 +1,221 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import com.example.bookshop.cache.CacheInvalidator;
+import com.example.bookshop.dto.BookImportResultDto;
+import com.example.bookshop.index.AuthorNameIndex;
+import com.example.bookshop.index.BookTitleIndex;
+import com.example.bookshop.model.Author;
+import com.example.bookshop.model.Book;
+import com.example.bookshop.repository.AuthorNameView;
+import com.example.bookshop.repository.AuthorRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private AuthorResolver authorResolver;
+
+    @Mock
+    private AuthorNameIndex authorNameIndex;
+
+    @Mock
+    private BookTitleIndex bookTitleIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @InjectMocks
+    private BookImportService bookImportService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importBooks_ReportInvalidBook() {
+        Book book = new Book();
+        ConstraintViolation<Book> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("Title shouldn't be empty");
+        when(validator.validate(book)).thenReturn(Set.of(violation));
+
+        List<BookImportResultDto> results = bookImportService.importBooks(List.of(book));
+
+        assertEquals("INVALID", results.get(0).getStatus());
+        assertEquals("Title shouldn't be empty", results.get(0).getErrorMessage());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void importBooks_ResolveAuthorsByOneQuery() {
+        Author author = new Author();
+        author.setName("Joshua Bloch");
+        Book book1 = new Book();
+        book1.setTitle("Java");
+        book1.setAuthors(List.of(author));
+        Book book2 = new Book();
+        book2.setTitle("Effective Java");
+        book2.setAuthors(List.of(author));
+        Author reference = new Author();
+        reference.setId(7L);
+        AuthorNameView view = mock(AuthorNameView.class);
+        when(view.getId()).thenReturn(7L);
+        when(view.getName()).thenReturn("Joshua Bloch");
+
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(authorRepository.findIdsByNormalizedNameIn(Set.of("joshua bloch"))).thenReturn(List.of(view));
+        when(entityManager.getReference(Author.class, 7L)).thenReturn(reference);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        List<BookImportResultDto> results = bookImportService.importBooks(List.of(book1, book2));
+
+        assertAll(
+                () -> assertEquals("CREATED", results.get(0).getStatus()),
+                () -> assertEquals("CREATED", results.get(1).getStatus()),
+                () -> assertSame(reference, book1.getAuthors().get(0)),
+                () -> assertSame(reference, book2.getAuthors().get(0))
+        );
+        verify(authorRepository, times(1)).findIdsByNormalizedNameIn(any());
+        verify(authorResolver, never()).upsert(any());
+        verify(entityManager, times(2)).persist(any(Book.class));
+    }
+
+    @Test
+    void importBooks_ResolveKnownAuthorsFromIndex() {
+        Author author = new Author();
+        author.setName("Joshua Bloch");
+        Book book = new Book();
+        book.setTitle("Java");
+        book.setAuthors(List.of(author));
+        Author reference = new Author();
+        reference.setId(7L);
+
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(authorNameIndex.findId("Joshua Bloch")).thenReturn(Optional.of(7L));
+        when(entityManager.getReference(Author.class, 7L)).thenReturn(reference);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        List<BookImportResultDto> results = bookImportService.importBooks(List.of(book));
+
+        assertEquals("CREATED", results.get(0).getStatus());
+        assertSame(reference, book.getAuthors().get(0));
+        verify(authorRepository, never()).findIdsByNormalizedNameIn(any());
+        verify(bookTitleIndex).put(book.getId(), "Java");
+    }
+
+    @Test
+    void importBooks_UpsertMissingAuthors() {
+        Author author = new Author();
+        author.setName("New Author");
+        Book book = new Book();
+        book.setTitle("Java");
+        book.setAuthors(List.of(author));
+        Author reference = new Author();
+        reference.setId(9L);
+        AuthorNameView view = mock(AuthorNameView.class);
+        when(view.getId()).thenReturn(9L);
+
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(authorRepository.findIdsByNormalizedNameIn(Set.of("new author"))).thenReturn(List.of());
+        when(authorResolver.upsert("New Author")).thenReturn(view);
+        when(entityManager.getReference(Author.class, 9L)).thenReturn(reference);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        List<BookImportResultDto> results = bookImportService.importBooks(List.of(book));
+
+        assertEquals("CREATED", results.get(0).getStatus());
+        assertSame(reference, book.getAuthors().get(0));
+    }
+
+    @Test
+    void importBooks_UpsertAuthorsBeforeChunkTransaction() {
+        Author author = new Author();
+        author.setName("New Author");
+        Book book = new Book();
+        book.setTitle("Java");
+        book.setAuthors(List.of(author));
+
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(authorRepository.findIdsByNormalizedNameIn(Set.of("new author"))).thenReturn(List.of());
+        when(authorResolver.upsert("New Author")).thenThrow(new IllegalStateException("Upsert failed"));
+
+        List<BookImportResultDto> results = bookImportService.importBooks(List.of(book));
+
+        assertEquals("FAILED", results.get(0).getStatus());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void importBooks_ReportFailedChunk() {
+        Book book = new Book();
+        book.setTitle("Java");
+
+        when(validator.validate(book)).thenReturn(Set.of());
+        doThrow(new IllegalStateException("Insert failed")).when(transactionTemplate).executeWithoutResult(any());
+
+        List<BookImportResultDto> results = bookImportService.importBooks(List.of(book));
+
+        assertEquals("FAILED", results.get(0).getStatus());
+        assertEquals(BookImportService.FAILURE_MESSAGE, results.get(0).getErrorMessage());
+    }
+
+    @Test
+    void importBooks_HideSqlOfConstraintViolation() {
+        Book book = new Book();
+        book.setTitle("Java");
+
+        when(validator.validate(book)).thenReturn(Set.of());
+        doThrow(new DataIntegrityViolationException("could not execute statement [insert into book values (?)]",
+                new SQLException("Unique index or primary key violation")))
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        List<BookImportResultDto> results = bookImportService.importBooks(List.of(book));
+
+        assertEquals(BookImportService.CONFLICT_MESSAGE, results.get(0).getErrorMessage());
+    }
+
+    @Test
+    void failureMessage_FindKnownExceptionInCauses() {
+        RuntimeException lockTimeout = new IllegalStateException("Commit failed",
+                new LockTimeoutException("Timeout trying to lock table BOOK"));
+
+        assertEquals(BookImportService.BUSY_MESSAGE, BookImportService.failureMessage(lockTimeout));
+    }
+}
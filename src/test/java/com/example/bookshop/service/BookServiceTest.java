@@ -1,26 +1,44 @@
 package com.example.bookshop.service;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
+import com.example.bookshop.cache.CacheInvalidator;
+import com.example.bookshop.cache.EntityKey;
+import com.example.bookshop.cache.MissingEntityCache;
+import com.example.bookshop.cache.QueryResult;
+import com.example.bookshop.cache.QueryResultCache;
+import com.example.bookshop.cache.ValueRange;
+import com.example.bookshop.dto.BookDto;
+import com.example.bookshop.dto.BookPageDto;
 import com.example.bookshop.exception.ResourceNotFoundException;
+import com.example.bookshop.index.BookTitleIndex;
+import com.example.bookshop.mapper.BookMapper;
 import com.example.bookshop.model.Author;
 import com.example.bookshop.model.Book;
 import com.example.bookshop.model.Review;
-import com.example.bookshop.repository.AuthorRepository;
+import com.example.bookshop.repository.BookAttributeView;
 import com.example.bookshop.repository.BookRepository;
+import com.example.bookshop.repository.BookReviewCountView;
+import com.example.bookshop.repository.BookTitleView;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import java.util.*;
+import java.util.function.Supplier;
 
 @ExtendWith(MockitoExtension.class)
 class BookServiceTest {
 
     @Mock
-    private AuthorRepository authorRepository;
+    private AuthorResolver authorResolver;
 
     @Mock
     private AuthorService authorService;
@@ -28,6 +46,24 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookTitleIndex bookTitleIndex;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private MissingEntityCache missingEntityCache;
+
+    @Mock
+    private QueryResultCache queryResultCache;
+
+    @Captor
+    private ArgumentCaptor<Supplier<QueryResult<List<BookDto>>>> queryCaptor;
+
     @InjectMocks
     private BookService bookService;
 
@@ -38,11 +74,11 @@ class BookServiceTest {
         book.setId(bookId);
         book.setTitle("Title");
 
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        when(bookRepository.findLoadedById(bookId)).thenReturn(Optional.of(book));
 
         Book result = bookService.findById(bookId);
         assertEquals(bookId, result.getId());
-        verify(bookRepository).findById(bookId);
+        verify(bookRepository).findLoadedById(bookId);
     }
 
     @Test
@@ -60,7 +96,8 @@ class BookServiceTest {
 
         assertAll(
                 () -> assertEquals(book, review1.getBook()),
-                () -> assertEquals(book, review2.getBook())
+                () -> assertEquals(book, review2.getBook()),
+                () -> assertEquals(2, book.getReviewCount())
         );
         verify(bookRepository).save(book);
     }
@@ -68,36 +105,81 @@ class BookServiceTest {
     @Test
     void findByAuthorName_ReturnBooksForAuthor() {
         String authorName = "Good man";
-        Book book1 = new Book();
-        book1.setTitle("Title1");
-        Book book2 = new Book();
-        book2.setTitle("Title 2");
+        BookTitleView book = mock(BookTitleView.class);
+        when(book.getId()).thenReturn(1L);
+        List<BookAttributeView> authors = List.of(mock(BookAttributeView.class));
+        List<BookAttributeView> reviews = List.of(mock(BookAttributeView.class));
+        List<BookDto> expected = List.of(new BookDto());
+
+        runQueriesWithoutCache();
+        when(bookRepository.findTitlesByAuthorName(authorName)).thenReturn(List.of(book));
+        when(bookRepository.findAuthorNamesByBookIds(List.of(1L))).thenReturn(authors);
+        when(bookRepository.findReviewMessagesByBookIds(List.of(1L))).thenReturn(reviews);
+        when(bookMapper.toDtos(List.of(book), authors, reviews)).thenReturn(expected);
+
+        List<BookDto> result = bookService.findByAuthorName(authorName);
+
+        assertSame(expected, result);
+        verify(bookRepository).findTitlesByAuthorName(authorName);
+    }
 
-        when(bookRepository.findByAuthorName(authorName)).thenReturn(List.of(book1, book2));
+    @Test
+    void findByAuthorName_CacheResultByAuthorNameAndBooks() {
+        BookTitleView book = mock(BookTitleView.class);
+        when(book.getId()).thenReturn(1L);
+        when(bookRepository.findTitlesByAuthorName("Joshua Bloch")).thenReturn(List.of(book));
+        when(bookMapper.toDtos(eq(List.of(book)), any(), any())).thenReturn(List.of(new BookDto()));
+
+        bookService.findByAuthorName("Joshua Bloch");
+
+        verify(queryResultCache).get(eq("booksByAuthor"), eq("Joshua Bloch"), queryCaptor.capture());
+        QueryResult<List<BookDto>> result = queryCaptor.getValue().get();
+        assertEquals(Set.of(EntityKey.book(1L), EntityKey.authorName("Joshua Bloch")), result.entities());
+        assertNull(result.range());
+    }
 
-        List<Book> result = bookService.findByAuthorName(authorName);
+    @Test
+    void findByReviewCount_FullPageCoversCountersOfItsBooks() {
+        BookReviewCountView first = mock(BookReviewCountView.class);
+        when(first.getId()).thenReturn(1L);
+        when(first.getReviewCount()).thenReturn(9L);
+        BookReviewCountView last = mock(BookReviewCountView.class);
+        when(last.getId()).thenReturn(2L);
+        when(last.getReviewCount()).thenReturn(5L);
+        when(bookRepository.findTitlesByReviewCount(3L, PageRequest.of(0, 2))).thenReturn(List.of(first, last));
+        when(bookMapper.toDtos(eq(List.of(first, last)), any(), any())).thenReturn(List.of());
+
+        bookService.findByReviewCount(3L, 0, 2);
+
+        verify(queryResultCache).get(eq("booksByReviewCount"), any(), queryCaptor.capture());
+        QueryResult<List<BookDto>> result = queryCaptor.getValue().get();
+        assertEquals(ValueRange.reviewCount(5, 9), result.range());
+        assertEquals(Set.of(EntityKey.book(1L), EntityKey.book(2L)), result.entities());
+    }
 
-        assertAll(
-                () -> assertEquals(2, result.size()),
-                () -> assertTrue(result.contains(book1)),
-                () -> assertTrue(result.contains(book2))
-        );
-        verify(bookRepository).findByAuthorName(authorName);
+    @Test
+    void findByReviewCount_LastPageCoversAllCountersBelowItsFirstBook() {
+        BookReviewCountView book = mock(BookReviewCountView.class);
+        when(book.getId()).thenReturn(1L);
+        when(book.getReviewCount()).thenReturn(9L);
+        when(bookRepository.findTitlesByReviewCount(3L, PageRequest.of(0, 2))).thenReturn(List.of(book));
+
+        bookService.findByReviewCount(3L, 0, 2);
+
+        verify(queryResultCache).get(eq("booksByReviewCount"), any(), queryCaptor.capture());
+        assertEquals(ValueRange.reviewCount(4, 9), queryCaptor.getValue().get().range());
     }
 
     @Test
     void testFindByReviewCount_ReturnsBook() {
-        Long bookId = 1L;
-        Book book = new Book();
-        book.setId(bookId);
-        book.setTitle("Title");
-        book.setReviews(List.of(new Review()));
+        runQueriesWithoutCache();
+        when(bookRepository.findTitlesByReviewCount(0L, PageRequest.of(0, 20))).thenReturn(List.of());
 
-        when(bookRepository.findByReviewCount(0L)).thenReturn(List.of(book));
+        List<BookDto> result = bookService.findByReviewCount(0L, 0, 20);
 
-        List<Book> result = bookService.findByReviewCount(0L);
-        assertTrue(result.contains(book));
-        verify(bookRepository).findByReviewCount(0L);
+        assertTrue(result.isEmpty());
+        verify(bookRepository, never()).findAuthorNamesByBookIds(any());
+        verifyNoInteractions(bookMapper);
     }
 
     @Test
@@ -134,13 +216,13 @@ class BookServiceTest {
         existingAuthor.setName("Existing Author");
         book.setAuthors(List.of(existingAuthor));
 
-        when(authorRepository.existsByName("Existing Author")).thenReturn(true);
-        when(authorRepository.findByName("Existing Author")).thenReturn(existingAuthor);
+        when(authorResolver.resolve(existingAuthor)).thenReturn(existingAuthor);
         when(bookRepository.save(book)).thenReturn(book);
 
         Book result = bookService.save(book);
 
-        verify(authorRepository, never()).save(existingAuthor);
+        verify(authorResolver).resolve(existingAuthor);
+        assertSame(existingAuthor, result.getAuthors().get(0));
         assertSame(book, result);
     }
 
@@ -165,7 +247,7 @@ class BookServiceTest {
         book.setId(bookId);
         book.setTitle("Updated title");
 
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(oldBook));
+        when(bookRepository.findLoadedById(bookId)).thenReturn(Optional.of(oldBook));
         when(bookRepository.save(book)).thenReturn(book);
 
         Book result = bookService.update(bookId, book);
@@ -173,25 +255,96 @@ class BookServiceTest {
         assertNotEquals(oldBook.getTitle(), result.getTitle());
         assertEquals(bookId, result.getId());
         assertSame(book, result);
+        verify(bookTitleIndex).put(bookId, "Updated title");
+    }
+
+    @Test
+    void testUpdate_ReturnsCounterWithReviewsCreatedAfterRead() {
+        Long bookId = 1L;
+        Book oldBook = new Book();
+        oldBook.setId(bookId);
+        oldBook.setReviewCount(2);
+        Book book = new Book();
+        book.setTitle("Updated title");
+
+        when(bookRepository.findLoadedById(bookId)).thenReturn(Optional.of(oldBook));
+        when(bookRepository.save(book)).thenReturn(book);
+        // review was created after the book had been read
+        when(bookRepository.findReviewCountById(bookId)).thenReturn(Optional.of(3L));
+
+        Book result = bookService.update(bookId, book);
+
+        assertEquals(3, result.getReviewCount());
     }
 
     @Test
     void findById_ThrowWhenNotFound() {
         Long id = 0L;
-        when(bookRepository.findById(id)).thenReturn(Optional.empty());
+        when(bookRepository.findLoadedById(id)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> bookService.findById(id));
 
         assertEquals("Book not found", exception.getMessage());
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verify(missingEntityCache).markMissing(EntityKey.book(id));
+    }
+
+    @Test
+    void findById_RejectRememberedMissingIdWithoutDatabase() {
+        Long id = 404L;
+        when(missingEntityCache.isMissing(EntityKey.book(id))).thenReturn(true);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> bookService.findById(id));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals(0, exception.getStackTrace().length);
+        verifyNoInteractions(bookRepository);
     }
 
     @Test
     void testDelete() {
         Long bookId = 1L;
+        when(bookRepository.findReviewCountById(bookId)).thenReturn(Optional.of(3L));
 
         bookService.delete(bookId);
         verify(bookRepository, times(1)).deleteById(bookId);
+        verify(bookTitleIndex).remove(bookId);
+        verify(cacheInvalidator).invalidate("book.delete", ValueRange.reviewCount(Long.MIN_VALUE, 3),
+                EntityKey.book(bookId));
+    }
+
+    private void runQueriesWithoutCache() {
+        when(queryResultCache.get(any(), any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<QueryResult<?>>>getArgument(2).get().value());
+    }
+
+    @Test
+    void findBooksAfter_ReturnNextCursorWhenPageIsFull() {
+        Book book1 = new Book();
+        book1.setId(3L);
+        Book book2 = new Book();
+        book2.setId(4L);
+
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(2))).thenReturn(List.of(book1, book2));
+
+        BookPageDto result = bookService.findBooksAfter(2L, 2);
+
+        assertEquals(List.of(book1, book2), result.getBooks());
+        assertEquals(4L, result.getNextCursor());
+    }
+
+    @Test
+    void findBooksAfter_ReturnNoCursorOnLastPage() {
+        Book book = new Book();
+        book.setId(5L);
+
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(4L, Limit.of(2))).thenReturn(List.of(book));
+
+        BookPageDto result = bookService.findBooksAfter(4L, 2);
+
+        assertEquals(1, result.getBooks().size());
+        assertNull(result.getNextCursor());
     }
 }
@@ -0,0 +1,55 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+class LogExtractorTest {
+
+    private static final String LOG = """
+            01-01-2024 10:00:00 - first
+            02-01-2024 10:00:00 - second
+            02-01-2024 11:00:00 - third
+            java.lang.IllegalStateException
+            02-01-2024 12:00:00 - fourth
+            03-01-2024 10:00:00 - fifth
+            02-01-2024 13:00:00 - last""";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void extract_CopyLinesOfDateWithStackTraceFromStream() throws IOException {
+        Path target = tempDir.resolve("result.log");
+
+        long copied = new LogExtractor().extract(
+                new ByteArrayInputStream(LOG.getBytes(StandardCharsets.UTF_8)), LocalDate.of(2024, 1, 2), target);
+
+        String expected = """
+                02-01-2024 10:00:00 - second
+                02-01-2024 11:00:00 - third
+                java.lang.IllegalStateException
+                02-01-2024 12:00:00 - fourth
+                """;
+        assertEquals(expected, Files.readString(target));
+        assertEquals(expected.length(), copied);
+    }
+
+    @Test
+    void copy_CopyRangesOneAfterAnother() throws IOException {
+        Path source = Files.writeString(tempDir.resolve("app.log"), LOG);
+        Path target = tempDir.resolve("result.log");
+
+        long copied = new LogExtractor().copy(source, List.of(new LogRange(0, 28), new LogRange(146, 174)), target);
+
+        assertEquals("01-01-2024 10:00:00 - first\n03-01-2024 10:00:00 - fifth\n", Files.readString(target));
+        assertEquals(56, copied);
+    }
+}
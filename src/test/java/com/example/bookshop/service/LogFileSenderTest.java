@@ -0,0 +1,115 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+class LogFileSenderTest {
+
+    private static final String CONTENT = "01-01-2024 10:00:00 - first\n01-01-2024 11:00:00 - second\n";
+
+    @TempDir
+    Path tempDir;
+
+    private final LogFileSender logFileSender = new LogFileSender();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/logs/download/1");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private Path file() throws IOException {
+        return Files.writeString(tempDir.resolve("logs.log"), CONTENT);
+    }
+
+    @Test
+    void send_ReturnWholeFileWithValidators() throws IOException {
+        logFileSender.send(file(), request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void send_ReturnNotModifiedForSameEtag() throws IOException {
+        Path file = file();
+        logFileSender.send(file, request, response);
+        MockHttpServletRequest repeated = new MockHttpServletRequest("GET", "/logs/download/1");
+        repeated.addHeader(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+
+        logFileSender.send(file, repeated, notModified);
+
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_ReturnRequestedRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=28-");
+
+        logFileSender.send(file(), request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 28-" + (CONTENT.length() - 1) + "/" + CONTENT.length(),
+                response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(CONTENT.substring(28), response.getContentAsString());
+    }
+
+    @Test
+    void send_IgnoreRangeOfAnotherVersion() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=28-");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+
+        logFileSender.send(file(), request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void send_RejectRangeOutsideFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+
+        logFileSender.send(file(), request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */" + CONTENT.length(), response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void send_CompressForGzipClients() throws IOException {
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        logFileSender.send(file(), request, response);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(CONTENT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void send_LeaveCopyToTomcatSendfile() throws IOException {
+        request.setAttribute(LogFileSender.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        Path file = file();
+
+        logFileSender.send(file, request, response);
+
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute(LogFileSender.SENDFILE_FILENAME));
+        assertEquals(0L, request.getAttribute(LogFileSender.SENDFILE_START));
+        assertEquals(10L, request.getAttribute(LogFileSender.SENDFILE_END));
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class LogMergerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final LogMerger logMerger = new LogMerger();
+
+    @Test
+    void merge_OrderRecordsByTimeKeepingLinesWithoutTimestamp() throws IOException {
+        Path first = Files.writeString(tempDir.resolve("first.log"), """
+                01-01-2024 10:00:00 - a
+                01-01-2024 12:00:00 - c
+                java.lang.IllegalStateException
+                """);
+        Path second = Files.writeString(tempDir.resolve("second.log"), """
+                01-01-2024 11:00:00 - b
+                01-01-2024 12:00:00 - d
+                """);
+        Path target = tempDir.resolve("result.log");
+
+        long written = logMerger.merge(List.of(first, second), target);
+
+        String expected = """
+                01-01-2024 10:00:00 - a
+                01-01-2024 11:00:00 - b
+                01-01-2024 12:00:00 - c
+                java.lang.IllegalStateException
+                01-01-2024 12:00:00 - d
+                """;
+        assertEquals(expected, Files.readString(target));
+        assertEquals(expected.length(), written);
+    }
+
+    @Test
+    void merge_SkipEmptyLogs() throws IOException {
+        Path empty = Files.writeString(tempDir.resolve("empty.log"), "");
+        Path log = Files.writeString(tempDir.resolve("app.log"), "01-01-2024 10:00:00 - a\n");
+        Path target = tempDir.resolve("result.log");
+
+        logMerger.merge(List.of(empty, log), target);
+
+        assertEquals("01-01-2024 10:00:00 - a\n", Files.readString(target));
+    }
+}
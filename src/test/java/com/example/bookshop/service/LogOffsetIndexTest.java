@@ -0,0 +1,62 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+class LogOffsetIndexTest {
+
+    private static final String FIRST_DAY = "01-01-2024 10:00:00 - first\n01-01-2024 11:00:00 - second\n";
+    private static final String SECOND_DAY = "02-01-2024 09:00:00 - third\njava.lang.IllegalStateException\n";
+
+    @TempDir
+    Path tempDir;
+
+    private final LogOffsetIndex logOffsetIndex = new LogOffsetIndex();
+
+    @Test
+    void findDate_ReturnRangeOfTheDateWithLinesWithoutTimestamp() throws IOException {
+        Path log = Files.writeString(tempDir.resolve("app.log"), FIRST_DAY + SECOND_DAY);
+
+        assertEquals(List.of(new LogRange(0, FIRST_DAY.length())), logOffsetIndex.findDate(log, "01-01-2024"));
+        assertEquals(List.of(new LogRange(FIRST_DAY.length(), FIRST_DAY.length() + SECOND_DAY.length())),
+                logOffsetIndex.findDate(log, "02-01-2024"));
+        assertEquals(List.of(), logOffsetIndex.findDate(log, "03-01-2024"));
+    }
+
+    @Test
+    void findDate_IndexAppendedLinesOnly() throws IOException {
+        Path log = Files.writeString(tempDir.resolve("app.log"), FIRST_DAY + "02-01-2024 09:00");
+        assertEquals(List.of(), logOffsetIndex.findDate(log, "02-01-2024"));
+
+        Files.writeString(log, ":00 - third\n", StandardOpenOption.APPEND);
+
+        assertEquals(List.of(new LogRange(FIRST_DAY.length(), FIRST_DAY.length() + 28)),
+                logOffsetIndex.findDate(log, "02-01-2024"));
+    }
+
+    @Test
+    void findDate_RebuildIndexOfRotatedFile() throws IOException {
+        Path log = Files.writeString(tempDir.resolve("app.log"), FIRST_DAY + SECOND_DAY);
+        logOffsetIndex.findDate(log, "01-01-2024");
+
+        Files.writeString(log, SECOND_DAY);
+
+        assertEquals(List.of(new LogRange(0, SECOND_DAY.length())), logOffsetIndex.findDate(log, "02-01-2024"));
+    }
+
+    @Test
+    void findDate_ReuseSavedIndex() throws IOException {
+        Path log = Files.writeString(tempDir.resolve("app.log"), FIRST_DAY + SECOND_DAY);
+        logOffsetIndex.findDate(log, "01-01-2024");
+
+        assertTrue(Files.exists(tempDir.resolve("app.log" + LogOffsetIndex.INDEX_SUFFIX)));
+        assertEquals(List.of(new LogRange(FIRST_DAY.length(), FIRST_DAY.length() + SECOND_DAY.length())),
+                new LogOffsetIndex().findDate(log, "02-01-2024"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+
+class LogQueryScannerTest {
+
+    private static final String LOG = """
+            01-01-2024 10:00:00 - INFO: Book created
+            01-01-2024 10:30:00 - ERROR: Book not found
+            java.lang.IllegalStateException: Книга
+            \tat Service.find
+            01-01-2024 11:00:00 - DEBUG: Author not found
+            01-01-2024 11:30:00 - WARN: Slow query
+            01-01-2024 12:00:00 - ERROR: Author not found
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    // small chunks make every record cross chunk boundaries
+    private final LogQueryScanner scanner = new LogQueryScanner(16, 3);
+
+    @AfterEach
+    void tearDown() {
+        scanner.close();
+    }
+
+    private String scanFile(LogQuery query) throws IOException {
+        Path log = Files.writeString(tempDir.resolve("app.log"), LOG);
+        Path target = tempDir.resolve("result.log");
+        long copied = scanner.scan(log, new LogRange(0, Files.size(log)), query, target);
+        assertEquals(Files.size(target), copied);
+        return Files.readString(target);
+    }
+
+    @Test
+    void scan_FilterByLevelKeepingWholeRecordsInOrder() throws IOException {
+        assertEquals("""
+                01-01-2024 10:30:00 - ERROR: Book not found
+                java.lang.IllegalStateException: Книга
+                \tat Service.find
+                01-01-2024 11:30:00 - WARN: Slow query
+                01-01-2024 12:00:00 - ERROR: Author not found
+                """, scanFile(new LogQuery(null, null, "WARN", null, null)));
+    }
+
+    @Test
+    void scan_FilterByTimeAndText() throws IOException {
+        LogQuery query = new LogQuery(LocalDateTime.of(2024, 1, 1, 10, 15), LocalDateTime.of(2024, 1, 1, 11, 0),
+                null, "not found", null);
+
+        assertEquals("""
+                01-01-2024 10:30:00 - ERROR: Book not found
+                java.lang.IllegalStateException: Книга
+                \tat Service.find
+                01-01-2024 11:00:00 - DEBUG: Author not found
+                """, scanFile(query));
+    }
+
+    @Test
+    void scan_MatchRegexInLinesWithoutTimestamp() throws IOException {
+        LogQuery query = new LogQuery(null, null, null, null, Pattern.compile("Exception: Кн"));
+
+        assertEquals("""
+                01-01-2024 10:30:00 - ERROR: Book not found
+                java.lang.IllegalStateException: Книга
+                \tat Service.find
+                """, scanFile(query));
+    }
+
+    @Test
+    void scan_StopStreamAfterTimeRange() throws IOException {
+        Path target = tempDir.resolve("result.log");
+        LogQuery query = new LogQuery(null, LocalDateTime.of(2024, 1, 1, 10, 0), null, null, null);
+
+        scanner.scan(new ByteArrayInputStream(LOG.getBytes(StandardCharsets.UTF_8)), query, target);
+
+        assertEquals("01-01-2024 10:00:00 - INFO: Book created\n", Files.readString(target));
+    }
+
+    @Test
+    void scan_FailWhenRegexRunsOutOfTime() throws IOException {
+        Path log = Files.writeString(tempDir.resolve("app.log"),
+                "01-01-2024 10:00:00 - ERROR: " + "a".repeat(60) + "\n" + LOG);
+        LogQuery query = new LogQuery(null, null, null, null, Pattern.compile(".*".repeat(9) + "x"))
+                .withTimeLimit(Duration.ofMillis(100));
+
+        assertThrows(LogQueryTimeoutException.class,
+                () -> scanner.scan(log, new LogRange(0, Files.size(log)), query, tempDir.resolve("result.log")));
+    }
+}
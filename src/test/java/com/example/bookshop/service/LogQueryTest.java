@@ -0,0 +1,47 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+class LogQueryTest {
+
+    private static final String RECORD = "01-01-2024 10:00:00 - ERROR: " + "a".repeat(60);
+
+    private static LogQuery regexQuery(String regex) {
+        return new LogQuery(null, null, null, null, Pattern.compile(regex));
+    }
+
+    @Test
+    void matchesText_FindRegexWithinTimeLimit() {
+        LogQuery query = regexQuery("(Book|Author) not found").withTimeLimit(Duration.ofSeconds(10));
+
+        assertTrue(query.matchesText("01-01-2024 10:00:00 - ERROR: Author not found"));
+        assertFalse(query.matchesText("01-01-2024 10:00:00 - INFO: Book created"));
+    }
+
+    @Test
+    void matchesText_StopBacktrackingRegexAfterTimeLimit() {
+        // every regex splits the record in many ways and fails only after trying all of them
+        for (String regex : List.of("(.*a){12}x", ".*".repeat(9) + "x", "\\w*".repeat(10) + "x")) {
+            LogQuery query = regexQuery(regex).withTimeLimit(Duration.ofMillis(100));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> assertThrows(LogQueryTimeoutException.class, () -> query.matchesText(RECORD)), regex);
+        }
+    }
+
+    @Test
+    void matchesText_StopRegexOfInterruptedThread() {
+        LogQuery query = regexQuery(".*".repeat(9) + "x");
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(LogQueryTimeoutException.class, () -> query.matchesText(RECORD));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+class LogSearchServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final LogArchiveCatalog logArchiveCatalog = new LogArchiveCatalog();
+    private final LogSearchService logSearchService = new LogSearchService(new LogExtractor(),
+            new LogOffsetIndex(), logArchiveCatalog, new LogMerger(), new LogQueryScanner(64, 2), Runnable::run);
+
+    private void gzip(String name, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempDir.resolve(name)))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void extractDate_CopyLiveLogWithoutArchives() throws IOException {
+        Path log = Files.writeString(tempDir.resolve("app.log"),
+                "01-01-2024 10:00:00 - old\n02-01-2024 10:00:00 - new\n");
+        Path target = tempDir.resolve("result.log");
+
+        logSearchService.extractDate(log, LocalDate.of(2024, 1, 2), target);
+
+        assertEquals("02-01-2024 10:00:00 - new\n", Files.readString(target));
+    }
+
+    @Test
+    void extractDate_MergeArchivesAndLiveLog() throws IOException {
+        gzip("app.log.2024-01-01.0.gz", "31-12-2023 23:00:00 - skipped\n01-01-2024 08:00:00 - first\n");
+        gzip("app.log.2024-01-01.1.gz", "01-01-2024 09:00:00 - second\nat Stack.trace\n");
+        gzip("app.log.2023-12-30.0.gz", "30-12-2023 09:00:00 - other day\n");
+        Path log = Files.writeString(tempDir.resolve("app.log"),
+                "01-01-2024 10:00:00 - third\n02-01-2024 10:00:00 - next day\n");
+        Path target = tempDir.resolve("result.log");
+
+        logSearchService.extractDate(log, LocalDate.of(2024, 1, 1), target);
+
+        assertEquals("""
+                01-01-2024 08:00:00 - first
+                01-01-2024 09:00:00 - second
+                at Stack.trace
+                01-01-2024 10:00:00 - third
+                """, Files.readString(target));
+    }
+
+    @Test
+    void findArchives_SkipArchivesOfOtherDates() throws IOException {
+        gzip("app.log.2023-12-30.0.gz", "30-12-2023 09:00:00 - other day\n");
+        gzip("app.log.2024-01-01.0.gz", "01-01-2024 09:00:00 - day\n");
+
+        assertEquals(1, logArchiveCatalog.findArchives(tempDir.resolve("app.log"), LocalDate.of(2024, 1, 1)).size());
+    }
+
+    @Test
+    void findArchives_EndArchiveWhereNextArchiveStarts() throws IOException {
+        gzip("app.log.2024-01-01.0.gz", "01-01-2024 08:00:00 - first\n01-01-2024 09:59:59 - last\n");
+        gzip("app.log.2024-01-01.1.gz", "01-01-2024 10:00:00 - next\n");
+
+        List<LogArchiveCatalog.LogArchive> archives = logArchiveCatalog.findArchives(tempDir.resolve("app.log"),
+                LocalDateTime.of(2024, 1, 1, 11, 0), null);
+
+        assertEquals(List.of(tempDir.resolve("app.log.2024-01-01.1.gz")),
+                archives.stream().map(LogArchiveCatalog.LogArchive::path).toList());
+    }
+
+    @Test
+    void findArchives_ReuseSavedCatalogAfterRestart() throws IOException {
+        gzip("app.log.2024-01-01.0.gz", "01-01-2024 09:00:00 - day\n");
+        Path archive = tempDir.resolve("app.log.2024-01-01.0.gz");
+        logArchiveCatalog.findArchives(tempDir.resolve("app.log"), LocalDate.of(2024, 1, 1));
+
+        // archive with the same size and time of modification isn't opened again
+        FileTime lastModified = Files.getLastModifiedTime(archive);
+        Files.write(archive, new byte[(int) Files.size(archive)]);
+        Files.setLastModifiedTime(archive, lastModified);
+
+        List<LogArchiveCatalog.LogArchive> archives = new LogArchiveCatalog()
+                .findArchives(tempDir.resolve("app.log"), LocalDate.of(2024, 1, 1));
+
+        assertEquals(1, archives.size());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 9, 0), archives.get(0).first());
+        assertTrue(Files.exists(tempDir.resolve("app.log" + LogArchiveCatalog.CATALOG_SUFFIX)));
+    }
+
+    @Test
+    void query_MergeMatchingRecordsOfArchivesAndLiveLog() throws IOException {
+        gzip("app.log.2024-01-01.0.gz", "01-01-2024 08:00:00 - ERROR: first\n01-01-2024 09:00:00 - INFO: skipped\n");
+        Path log = Files.writeString(tempDir.resolve("app.log"), """
+                01-01-2024 10:00:00 - WARN: second
+                at Stack.trace
+                02-01-2024 10:00:00 - ERROR: after range
+                """);
+        Path target = tempDir.resolve("result.log");
+        LogQuery query = new LogQuery(LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 23, 59),
+                "WARN", null, null);
+
+        logSearchService.query(log, query, target);
+
+        assertEquals("""
+                01-01-2024 08:00:00 - ERROR: first
+                01-01-2024 10:00:00 - WARN: second
+                at Stack.trace
+                """, Files.readString(target));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bookshop.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import com.example.bookshop.dto.LogQueryDto;
+import com.example.bookshop.exception.InvalidValueFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+class LogServiceQueryTest {
+
+    @Mock
+    private AsyncLogService asyncLogService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @InjectMocks
+    private LogService logService;
+
+    @Test
+    void startLogQuery_RejectTooLongRegex() {
+        LogQueryDto queryDto = new LogQueryDto();
+        queryDto.setRegex("a".repeat(201));
+
+        InvalidValueFormatException exception = assertThrows(InvalidValueFormatException.class,
+                () -> logService.startLogQuery(queryDto));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(asyncLogService);
+    }
+
+    @Test
+    void startLogQuery_AcceptRegexWhichIsLimitedByTime() {
+        LogQueryDto queryDto = new LogQueryDto();
+        queryDto.setRegex("\\w*".repeat(10) + "x");
+
+        Long id = logService.startLogQuery(queryDto);
+
+        verify(asyncLogService).queryLogs(eq(id), any(LogQuery.class), any());
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.bookshop.service;
 
+import com.example.bookshop.cache.CacheInvalidator;
+import com.example.bookshop.cache.EntityKey;
+import com.example.bookshop.cache.ValueRange;
 import com.example.bookshop.exception.ResourceNotFoundException;
 import com.example.bookshop.model.Book;
 import com.example.bookshop.model.Review;
@@ -14,6 +17,9 @@ import org.springframework.http.HttpStatus;
 import java.util.List;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,6 +31,9 @@ class ReviewServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -36,11 +45,30 @@ class ReviewServiceTest {
 
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
         when(reviewRepository.save(review)).thenReturn(review);
+        when(bookRepository.findReviewCountById(bookId)).thenReturn(Optional.of(5L));
 
         reviewService.createReview(bookId, review);
 
         assertSame(book, review.getBook());
         verify(reviewRepository).save(review);
+        verify(bookRepository).adjustReviewCount(bookId, 1);
+        verify(cacheInvalidator).invalidate("review.create", ValueRange.reviewCount(4, 5), EntityKey.book(bookId));
+    }
+
+    @Test
+    void createReviews_AdjustCounterOnce() {
+        Long bookId = 1L;
+        Book book = new Book();
+        List<Review> reviews = List.of(new Review(), new Review());
+
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        when(reviewRepository.saveAll(reviews)).thenReturn(reviews);
+
+        List<Review> result = reviewService.createReviews(bookId, reviews);
+
+        assertEquals(2, result.size());
+        assertSame(book, reviews.get(1).getBook());
+        verify(bookRepository).adjustReviewCount(bookId, 2);
     }
 
     @Test
@@ -89,11 +117,36 @@ class ReviewServiceTest {
     void deleteReview_CallDelete() {
         Integer reviewId = 1;
         Long bookId = 1L;
+        Book book = new Book();
+        book.setId(bookId);
+        Review review = new Review();
+        review.setBook(book);
         when(bookRepository.existsById(bookId)).thenReturn(true);
+        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
 
         reviewService.deleteReview(reviewId, bookId);
 
-        verify(reviewRepository).deleteById(reviewId);
+        verify(reviewRepository).delete(review);
+        verify(bookRepository).adjustReviewCount(bookId, -1);
+    }
+
+    @Test
+    void deleteReview_ThrowWhenReviewIsNotOfTheBook() {
+        Integer reviewId = 1;
+        Long bookId = 1L;
+        Book otherBook = new Book();
+        otherBook.setId(2L);
+        Review review = new Review();
+        review.setBook(otherBook);
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> reviewService.deleteReview(reviewId, bookId));
+
+        assertEquals("Review not found", exception.getMessage());
+        verify(reviewRepository, never()).delete(any());
+        verify(bookRepository, never()).adjustReviewCount(any(), anyLong());
     }
 
     @Test